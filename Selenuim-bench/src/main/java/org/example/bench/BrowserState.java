@@ -0,0 +1,66 @@
+package org.example.bench;
+
+import org.example.driver.DriverContext;
+import org.example.driver.DriverPool;
+import org.example.session.SessionBootstrap;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * One pooled browser per benchmark thread, pointed at the shared {@link ServerState} replica.
+ * The session and wait come from the same {@link DriverPool} and
+ * {@link DriverContext#newWait} the suite uses, so changes to either show up in the numbers.
+ */
+@State(Scope.Thread)
+public class BrowserState {
+
+    static final String USER = "standard_user";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    WebDriver driver;
+    WebDriverWait wait;
+    String root;
+
+    @Setup(Level.Trial)
+    public void open(ServerState server) {
+        root = server.baseUrl();
+        driver = DriverPool.lease();
+        wait = DriverContext.newWait(driver, TIMEOUT);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        DriverPool.release(driver);
+    }
+
+    /**
+     * Leaves the browser on an application page with no cookies and empty storage.
+     */
+    void signOut() {
+        driver.get(root + "robots.txt");
+        ((JavascriptExecutor) driver).executeScript("localStorage.clear(); sessionStorage.clear();");
+        driver.manage().deleteAllCookies();
+    }
+
+    /**
+     * Leaves the browser logged in on inventory.html with exactly {@code cartIds} in the cart.
+     */
+    void openInventory(int... cartIds) {
+        SessionBootstrap.loginAs(driver, root, USER);
+        if (cartIds.length > 0) {
+            ((JavascriptExecutor) driver).executeScript("localStorage.setItem('cart-contents', arguments[0]);",
+                    Arrays.toString(cartIds));
+            driver.navigate().refresh();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.bench;
+
+import org.example.extract.InventoryExtractor;
+import org.example.extract.InventoryItem;
+import org.example.wait.DomConditions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The user journeys the suite covers, driven end to end in a real browser against the local
+ * replica. Each benchmark reports throughput and the sampled latency distribution
+ * (p50 ... p99.99); state preparation (signing out, seeding the cart) runs outside the
+ * measured region.
+ * <p>
+ * {@code mvn -pl Selenuim-bench -am package -DskipTests && java -jar Selenuim-bench/target/benchmarks.jar}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class JourneyBenchmarks {
+
+    private static final By USERNAME_FIELD = By.id("user-name");
+    private static final By PASSWORD_FIELD = By.id("password");
+    private static final By LOGIN_BUTTON = By.id("login-button");
+    private static final By INVENTORY_LIST = By.className("inventory_list");
+    private static final By SORT_DROPDOWN = By.className("product_sort_container");
+    private static final By CART_BADGE = By.cssSelector(".shopping_cart_badge");
+    private static final By CART_LINK = By.cssSelector("a.shopping_cart_link");
+    private static final By BACKPACK_ADD_BUTTON = By.cssSelector("button[data-item-id='4']");
+    private static final By BACKPACK_TITLE_LINK = By.id("item_4_title_link");
+    private static final By DETAILS_NAME = By.className("inventory_details_name");
+    private static final By BACK_BUTTON = By.id("back-to-products");
+    private static final By CHECKOUT_BUTTON = By.cssSelector("a.checkout_button");
+    private static final By FIRST_NAME = By.id("first-name");
+    private static final By LAST_NAME = By.id("last-name");
+    private static final By POSTAL_CODE = By.id("postal-code");
+    private static final By CONTINUE_BUTTON = By.cssSelector("input.cart_button");
+    private static final By FINISH_BUTTON = By.cssSelector("a.cart_button");
+    private static final By COMPLETE_HEADER = By.className("complete-header");
+
+    private static final int BACKPACK_ID = 4;
+
+    @State(Scope.Thread)
+    public static class SignedOut {
+        @Setup(Level.Invocation)
+        public void prepare(BrowserState browser) {
+            browser.signOut();
+            browser.driver.get(browser.root + "index.html");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OnInventory {
+        @Setup(Level.Invocation)
+        public void prepare(BrowserState browser) {
+            browser.openInventory();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WithItemInCart {
+        @Setup(Level.Invocation)
+        public void prepare(BrowserState browser) {
+            browser.openInventory(BACKPACK_ID);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SortOption {
+        @Param({"az", "za", "lohi", "hilo"})
+        public String option;
+    }
+
+    @Benchmark
+    public WebElement login(BrowserState browser, SignedOut signedOut) {
+        browser.wait.until(DomConditions.visibilityOfElementLocated(USERNAME_FIELD)).sendKeys(BrowserState.USER);
+        browser.driver.findElement(PASSWORD_FIELD).sendKeys("secret_sauce");
+        browser.driver.findElement(LOGIN_BUTTON).click();
+        return browser.wait.until(DomConditions.visibilityOfElementLocated(INVENTORY_LIST));
+    }
+
+    @Benchmark
+    public Boolean addToCart(BrowserState browser, OnInventory onInventory) {
+        browser.wait.until(DomConditions.elementToBeClickable(BACKPACK_ADD_BUTTON)).click();
+        return browser.wait.until(DomConditions.textToBe(CART_BADGE, "1"));
+    }
+
+    @Benchmark
+    public List<InventoryItem> sort(BrowserState browser, OnInventory onInventory, SortOption sort) {
+        WebElement dropdown = browser.wait.until(DomConditions.elementToBeClickable(SORT_DROPDOWN));
+        dropdown.findElement(By.cssSelector("option[value='" + sort.option + "']")).click();
+        return InventoryExtractor.inventory(browser.driver);
+    }
+
+    @Benchmark
+    public WebElement productDetail(BrowserState browser, OnInventory onInventory) {
+        browser.wait.until(DomConditions.elementToBeClickable(BACKPACK_TITLE_LINK)).click();
+        browser.wait.until(DomConditions.visibilityOfElementLocated(DETAILS_NAME));
+        browser.driver.findElement(BACK_BUTTON).click();
+        return browser.wait.until(DomConditions.visibilityOfElementLocated(INVENTORY_LIST));
+    }
+
+    @Benchmark
+    public Boolean checkout(BrowserState browser, WithItemInCart withItemInCart) {
+        browser.wait.until(DomConditions.elementToBeClickable(CART_LINK)).click();
+        browser.wait.until(DomConditions.elementToBeClickable(CHECKOUT_BUTTON)).click();
+        browser.wait.until(DomConditions.visibilityOfElementLocated(FIRST_NAME)).sendKeys("Bench");
+        browser.driver.findElement(LAST_NAME).sendKeys("Mark");
+        browser.driver.findElement(POSTAL_CODE).sendKeys("12345");
+        browser.driver.findElement(CONTINUE_BUTTON).click();
+        browser.wait.until(DomConditions.elementToBeClickable(FINISH_BUTTON)).click();
+        return browser.wait.until(DomConditions.textToBe(COMPLETE_HEADER, "THANK YOU FOR YOUR ORDER"));
+    }
+}
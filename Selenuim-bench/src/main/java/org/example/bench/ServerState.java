@@ -0,0 +1,32 @@
+package org.example.bench;
+
+import org.example.server.SwagLabsServer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The local Swag Labs replica, shared by every benchmark thread of a trial so the numbers
+ * measure the framework rather than saucedemo.com and the network.
+ */
+@State(Scope.Benchmark)
+public class ServerState {
+
+    private SwagLabsServer server;
+
+    @Setup(Level.Trial)
+    public void start() {
+        server = SwagLabsServer.builder().start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        server.close();
+    }
+
+    String baseUrl() {
+        return server.baseUrl();
+    }
+}
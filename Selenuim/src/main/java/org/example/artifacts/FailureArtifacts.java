@@ -0,0 +1,191 @@
+package org.example.artifacts;
+
+import org.example.config.Config;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Screenshot, page source, browser console and recent driver commands of a failed test, written
+ * as one zip per failure under {@code artifacts.dir} (default {@value #DEFAULT_DIR}).
+ * <ul>
+ *     <li>{@code artifacts.enabled} - capture on failure (default {@code true})</li>
+ *     <li>{@code artifacts.queue} - captures that may wait for the writer (default {@code 4})</li>
+ * </ul>
+ * The test thread only talks to the browser; compressing and writing happens on a single
+ * background thread. When {@code artifacts.queue} captures are already waiting, the failing
+ * thread writes its own zip instead of queueing more, so a burst of failures slows the run
+ * down rather than piling screenshots up in memory.
+ */
+public final class FailureArtifacts {
+
+    public static final String ENABLED_PROPERTY = "artifacts.enabled";
+    public static final String DIR_PROPERTY = "artifacts.dir";
+    public static final String QUEUE_PROPERTY = "artifacts.queue";
+    public static final String DEFAULT_DIR = "target/failure-artifacts";
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(60);
+
+    private static ThreadPoolExecutor writer;
+
+    private FailureArtifacts() {
+    }
+
+    public static boolean enabled() {
+        return Config.flag(ENABLED_PROPERTY, true);
+    }
+
+    /**
+     * Collects what the browser can tell about the failure. Parts the session cannot provide
+     * (e.g. console logs on a browser without the logging endpoint) are left out.
+     *
+     * @param name    what failed, e.g. {@code Check_Out.cancelCheckout_FromStepTwo}
+     * @param failure the exception the test failed with, or {@code null}
+     */
+    public static Capture capture(WebDriver driver, String name, Throwable failure) {
+        // Taken first: the calls below go through the same driver and would otherwise end up
+        // in the log, pushing the test's own commands out of it.
+        List<String> commands = RecentCommands.snapshot();
+        byte[] screenshot = null;
+        String url = null;
+        String pageSource = null;
+        List<String> console = new ArrayList<>();
+        try {
+            url = driver.getCurrentUrl();
+            pageSource = driver.getPageSource();
+        } catch (WebDriverException e) {
+            System.err.println("Could not read the page for " + name + ": " + e.getMessage());
+        }
+        try {
+            if (driver instanceof TakesScreenshot camera) {
+                screenshot = camera.getScreenshotAs(OutputType.BYTES);
+            }
+        } catch (WebDriverException e) {
+            System.err.println("Could not take a screenshot for " + name + ": " + e.getMessage());
+        }
+        try {
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                console.add(entry.toString());
+            }
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            console.add("(console log not available: " + e.getClass().getSimpleName() + ")");
+        }
+        return new Capture(name, LocalDateTime.now(), url, screenshot, pageSource, console,
+                commands, failure == null ? null : stackTrace(failure));
+    }
+
+    /**
+     * Hands {@code capture} to the background writer and returns immediately, unless the
+     * writer is saturated (see the class comment).
+     */
+    public static void submit(Capture capture) {
+        writer().execute(() -> write(capture));
+    }
+
+    /**
+     * Waits until every submitted capture has been written. Called at the end of the suite.
+     */
+    public static void flush() {
+        ThreadPoolExecutor current;
+        synchronized (FailureArtifacts.class) {
+            current = writer;
+            writer = null;
+        }
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(FLUSH_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                System.err.println("Gave up waiting for " + current.getQueue().size() + " failure artifact(s) to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor writer() {
+        if (writer == null) {
+            AtomicInteger threads = new AtomicInteger();
+            writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, Config.integer(QUEUE_PROPERTY, 4))),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "failure-artifacts-" + threads.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return writer;
+    }
+
+    private static void write(Capture capture) {
+        Path dir = Path.of(Config.string(DIR_PROPERTY, DEFAULT_DIR));
+        Path zip = dir.resolve(capture.name().replaceAll("[^A-Za-z0-9._-]+", "_") + "-" + STAMP.format(capture.takenAt()) + ".zip");
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = Files.newOutputStream(zip); ZipOutputStream entries = new ZipOutputStream(out)) {
+                if (capture.screenshot() != null) {
+                    entry(entries, "screenshot.png", capture.screenshot());
+                }
+                if (capture.pageSource() != null) {
+                    entry(entries, "page.html", capture.pageSource().getBytes(StandardCharsets.UTF_8));
+                }
+                entry(entries, "console.log", lines(capture.console()));
+                entry(entries, "commands.log", lines(capture.commands()));
+                String summary = "test: " + capture.name() + "\nurl: " + capture.url() + "\ntime: " + capture.takenAt()
+                        + "\n\n" + (capture.failure() == null ? "" : capture.failure());
+                entry(entries, "failure.txt", summary.getBytes(StandardCharsets.UTF_8));
+            }
+            System.out.println("Failure artifacts for " + capture.name() + " written to " + zip.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write failure artifacts to " + zip + ": " + e.getMessage());
+        }
+    }
+
+    private static void entry(ZipOutputStream entries, String name, byte[] content) throws IOException {
+        entries.putNextEntry(new ZipEntry(name));
+        entries.write(content);
+        entries.closeEntry();
+    }
+
+    private static byte[] lines(List<String> lines) {
+        return String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter trace = new StringWriter();
+        failure.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+
+    /**
+     * Everything collected for one failure; any part may be {@code null} or empty.
+     */
+    public record Capture(String name, LocalDateTime takenAt, String url, byte[] screenshot, String pageSource,
+                          List<String> console, List<String> commands, String failure) {
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.artifacts;
+
+import org.example.config.Config;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the last {@code artifacts.commands} (default 25) driver calls made by the current
+ * thread so a failure report can show what the test did just before it failed. Calls are
+ * recorded as {@code Interface.method(args)}, like {@link org.example.metrics.CommandTimingListener}
+ * names them, with long arguments shortened.
+ */
+public class RecentCommands implements WebDriverListener {
+
+    public static final String COMMANDS_PROPERTY = "artifacts.commands";
+
+    private static final int LIMIT = Math.max(0, Config.integer(COMMANDS_PROPERTY, 25));
+    private static final int MAX_ARGUMENT_LENGTH = 120;
+    private static final ThreadLocal<Deque<String>> RECENT = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static boolean enabled() {
+        return LIMIT > 0;
+    }
+
+    /**
+     * Oldest first.
+     */
+    public static List<String> snapshot() {
+        return new ArrayList<>(RECENT.get());
+    }
+
+    public static void clear() {
+        RECENT.get().clear();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        add(LocalTime.now() + " " + describe(method, args));
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        add(LocalTime.now() + "   failed: " + e.getTargetException().getClass().getSimpleName());
+    }
+
+    private static void add(String entry) {
+        Deque<String> recent = RECENT.get();
+        if (recent.size() == LIMIT) {
+            recent.removeFirst();
+        }
+        recent.addLast(entry);
+    }
+
+    private static String describe(Method method, Object[] args) {
+        String arguments = args == null ? "" : Arrays.deepToString(args);
+        if (!arguments.isEmpty()) {
+            arguments = arguments.substring(1, arguments.length() - 1);
+        }
+        if (arguments.length() > MAX_ARGUMENT_LENGTH) {
+            arguments = arguments.substring(0, MAX_ARGUMENT_LENGTH) + "...";
+        }
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + "(" + arguments + ")";
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.config;
+
+/**
+ * Typed access to the system properties that tune the suite (-Dkey=value on the
+ * Maven or IDE command line). Blank values fall back to the supplied default.
+ */
+public final class Config {
+
+    private Config() {
+    }
+
+    public static String string(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int integer(String key, int defaultValue) {
+        String value = string(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("System property '" + key + "' must be an integer but was '" + value + "'", e);
+        }
+    }
+
+    public static boolean flag(String key, boolean defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
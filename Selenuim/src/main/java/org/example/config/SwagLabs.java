@@ -0,0 +1,29 @@
+package org.example.config;
+
+/**
+ * Where the application under test lives. Defaults to the public v1 site; the local
+ * stand-in server fixture points {@code base.url} at itself when {@code server.local=true}.
+ */
+public final class SwagLabs {
+
+    public static final String BASE_URL_PROPERTY = "base.url";
+    public static final String DEFAULT_BASE_URL = "https://www.saucedemo.com/v1/";
+
+    private SwagLabs() {
+    }
+
+    /**
+     * The application root, always ending with a slash.
+     */
+    public static String baseUrl() {
+        String url = Config.string(BASE_URL_PROPERTY, DEFAULT_BASE_URL);
+        return url.endsWith("/") ? url : url + "/";
+    }
+
+    /**
+     * Absolute URL of a page, e.g. {@code page("inventory.html")}.
+     */
+    public static String page(String path) {
+        return baseUrl() + path;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.driver;
+
+import org.example.config.Config;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One browser session per {@link SessionAffinity} key, handed to one test at a time.
+ * <p>
+ * Unlike {@link DriverPool}, a released session is not reset: the next row with the same key
+ * continues where the previous one left off, still logged in. A row waits at most
+ * {@code driver.affinity.waitSeconds} (default 30) for the key's session; if another row still
+ * holds it, the row runs on an ordinary pooled session instead of parking its thread.
+ * <p>
+ * Sessions follow the pool's rules: one that stops responding or has served
+ * {@code driver.pool.maxUses} rows is replaced. Once every row {@linkplain #expect expected}
+ * for a key has run, its session is {@linkplain DriverPool#adopt handed to the pool} of the
+ * thread that ran the last row. Sessions still held are quit at JVM shutdown.
+ */
+final class AffinitySessions {
+
+    public static final String WAIT_PROPERTY = "driver.affinity.waitSeconds";
+
+    private static final Map<String, Slot> SLOTS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AffinitySessions::shutdown, "affinity-sessions-shutdown"));
+    }
+
+    private AffinitySessions() {
+    }
+
+    /**
+     * Announces {@code rows} more rows that will run with {@code key}, so its session can be
+     * retired after the last one.
+     */
+    static void expect(String key, int rows) {
+        SLOTS.computeIfAbsent(key, ignored -> new Slot()).remaining.addAndGet(rows);
+    }
+
+    /**
+     * Waits up to {@code driver.affinity.waitSeconds} until no other test holds {@code key},
+     * then returns its session; returns {@code null} if it is still held by then.
+     */
+    static WebDriver lease(String key) {
+        Slot slot = SLOTS.computeIfAbsent(key, ignored -> new Slot());
+        try {
+            if (!slot.permit.tryAcquire(Math.max(0, Config.integer(WAIT_PROPERTY, 30)), TimeUnit.SECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            if (slot.driver != null && (slot.uses >= DriverPool.maxUses() || !isHealthy(slot.driver))) {
+                System.out.println("Recycling browser session for " + key);
+                DriverPool.quitQuietly(slot.driver);
+                slot.driver = null;
+            }
+            if (slot.driver == null) {
+                slot.driver = DriverPool.newSession();
+                slot.uses = 0;
+            }
+            slot.uses++;
+            return slot.driver;
+        } catch (RuntimeException e) {
+            slot.permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Ends one row with {@code key}; {@code held} tells whether it ran on the key's session
+     * (see {@link #lease}). After the last expected row the session goes to the pool.
+     */
+    static void release(String key, boolean held) {
+        Slot slot = SLOTS.get(key);
+        if (slot == null) {
+            return;
+        }
+        if (held) {
+            slot.permit.release();
+        }
+        if (slot.remaining.decrementAndGet() == 0 && SLOTS.remove(key, slot) && slot.driver != null) {
+            DriverPool.adopt(slot.driver, slot.uses);
+            slot.driver = null;
+        }
+    }
+
+    static void shutdown() {
+        for (Slot slot : SLOTS.values()) {
+            if (slot.driver != null) {
+                DriverPool.quitQuietly(slot.driver);
+                slot.driver = null;
+            }
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static final class Slot {
+        private final Semaphore permit = new Semaphore(1);
+        // Rows announced for the key that have not finished yet
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile WebDriver driver;
+        private volatile int uses;
+    }
+}
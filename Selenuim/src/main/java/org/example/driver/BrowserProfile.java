@@ -0,0 +1,343 @@
+package org.example.driver;
+
+import org.example.config.Config;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The browser and options every browser session of the suite is started with, chosen once
+ * per JVM from system properties.
+ * <ul>
+ *     <li>{@code browser} - {@code edge} (default), {@code chrome} or {@code firefox}</li>
+ *     <li>{@code browser.profile} - {@code full} (default): a headed, maximized browser with
+ *     its stock settings and normal page loads, as the suite has always run; {@code lean}:
+ *     headless, eager page loads, a fixed window and no extensions, first-run pages or
+ *     background throttling. Lean starts faster and uses less memory, but a headless browser
+ *     with eager loads can observe the pages differently, so it is opt-in</li>
+ *     <li>{@code browser.headless}, {@code browser.pageLoad} ({@code normal}, {@code eager},
+ *     {@code none}) and {@code browser.window} ({@code <width>x<height>} or {@code maximize})
+ *     override single settings of the profile</li>
+ *     <li>{@code browser.userDataTemplate} - a prepared user-data directory (Firefox: profile
+ *     directory) that every session starts from a private copy of; the copy is deleted when
+ *     the session quits (see {@link #sessionEnded})</li>
+ * </ul>
+ */
+public final class BrowserProfile {
+
+    public static final String BROWSER_PROPERTY = "browser";
+    public static final String PROFILE_PROPERTY = "browser.profile";
+    public static final String HEADLESS_PROPERTY = "browser.headless";
+    public static final String PAGE_LOAD_PROPERTY = "browser.pageLoad";
+    public static final String WINDOW_PROPERTY = "browser.window";
+    public static final String USER_DATA_TEMPLATE_PROPERTY = "browser.userDataTemplate";
+
+    private static final String MAXIMIZE = "maximize";
+    private static final String LEAN_WINDOW = "1920x1080";
+
+    private static final BrowserProfile CURRENT = fromProperties();
+    private static final Map<WebDriver, Path> USER_DATA = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public enum Browser {
+        EDGE(DriverBinaries.Binary.MSEDGEDRIVER) {
+            @Override
+            AbstractDriverOptions<?> newOptions() {
+                return new EdgeOptions();
+            }
+
+            @Override
+            WebDriver start(AbstractDriverOptions<?> options) {
+                return new EdgeDriver((EdgeOptions) options);
+            }
+        },
+        CHROME(DriverBinaries.Binary.CHROMEDRIVER) {
+            @Override
+            AbstractDriverOptions<?> newOptions() {
+                return new ChromeOptions();
+            }
+
+            @Override
+            WebDriver start(AbstractDriverOptions<?> options) {
+                return new ChromeDriver((ChromeOptions) options);
+            }
+        },
+        FIREFOX(DriverBinaries.Binary.GECKODRIVER) {
+            @Override
+            AbstractDriverOptions<?> newOptions() {
+                return new FirefoxOptions();
+            }
+
+            @Override
+            WebDriver start(AbstractDriverOptions<?> options) {
+                return new FirefoxDriver((FirefoxOptions) options);
+            }
+        };
+
+        private final DriverBinaries.Binary binary;
+
+        Browser(DriverBinaries.Binary binary) {
+            this.binary = binary;
+        }
+
+        public DriverBinaries.Binary binary() {
+            return binary;
+        }
+
+        abstract AbstractDriverOptions<?> newOptions();
+
+        abstract WebDriver start(AbstractDriverOptions<?> options);
+    }
+
+    private final Browser browser;
+    private final boolean lean;
+    private final boolean headless;
+    private final PageLoadStrategy pageLoad;
+    private final Dimension window;
+    private final Path userDataTemplate;
+
+    private BrowserProfile(Browser browser, boolean lean, boolean headless, PageLoadStrategy pageLoad,
+                           Dimension window, Path userDataTemplate) {
+        this.browser = browser;
+        this.lean = lean;
+        this.headless = headless;
+        this.pageLoad = pageLoad;
+        this.window = window;
+        this.userDataTemplate = userDataTemplate;
+    }
+
+    public static BrowserProfile current() {
+        return CURRENT;
+    }
+
+    public Browser browser() {
+        return browser;
+    }
+
+    /**
+     * Options for a new session, ready for capability hooks such as
+     * {@link org.example.network.NetworkControl#configure}.
+     */
+    public AbstractDriverOptions<?> options() {
+        AbstractDriverOptions<?> options = browser.newOptions();
+        options.setPageLoadStrategy(pageLoad);
+        if (options instanceof ChromiumOptions<?> chromium) {
+            configureChromium(chromium);
+        } else if (options instanceof FirefoxOptions firefox) {
+            configureFirefox(firefox);
+        }
+        return options;
+    }
+
+    /**
+     * Starts a session with {@code options} (as returned by {@link #options()}) and sizes its
+     * window. With a user-data template the session gets a private copy of it, which
+     * {@link #sessionEnded} deletes.
+     */
+    public WebDriver start(AbstractDriverOptions<?> options) {
+        Path userData = userDataTemplate == null ? null : copyTemplate(userDataTemplate);
+        if (options instanceof ChromiumOptions<?> chromium && userData != null) {
+            chromium.addArguments("--user-data-dir=" + userData);
+        } else if (options instanceof FirefoxOptions firefox && userData != null) {
+            firefox.addArguments("-profile", userData.toString());
+        }
+        WebDriver driver;
+        try {
+            driver = browser.start(options);
+        } catch (RuntimeException e) {
+            deleteQuietly(userData);
+            throw e;
+        }
+        if (userData != null) {
+            USER_DATA.put(driver, userData);
+        }
+        if (window == null) {
+            driver.manage().window().maximize();
+        }
+        return driver;
+    }
+
+    /**
+     * Deletes the user-data copy of a session that has just quit, if it had one. Accepts the
+     * session as started or as decorated by {@link DriverFactory}.
+     */
+    public static void sessionEnded(WebDriver driver) {
+        WebDriver started = driver instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : driver;
+        deleteQuietly(USER_DATA.remove(started));
+    }
+
+    @Override
+    public String toString() {
+        return browser.name().toLowerCase(Locale.ROOT) + " (" + (lean ? "lean" : "full")
+                + (headless ? ", headless" : "") + ", " + pageLoad + " page loads, "
+                + (window == null ? MAXIMIZE : window.getWidth() + "x" + window.getHeight())
+                + (userDataTemplate == null ? "" : ", user data from " + userDataTemplate) + ")";
+    }
+
+    private void configureChromium(ChromiumOptions<?> options) {
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (window != null) {
+            options.addArguments("--window-size=" + window.getWidth() + "," + window.getHeight());
+        }
+        if (lean) {
+            options.addArguments(
+                    "--no-first-run",
+                    "--no-default-browser-check",
+                    "--disable-extensions",
+                    "--disable-background-networking",
+                    "--disable-background-timer-throttling",
+                    "--disable-backgrounding-occluded-windows",
+                    "--disable-renderer-backgrounding",
+                    // Containers often mount a tiny /dev/shm; Chromium then crashes on big pages.
+                    "--disable-dev-shm-usage");
+        }
+    }
+
+    private void configureFirefox(FirefoxOptions options) {
+        if (headless) {
+            options.addArguments("-headless");
+        }
+        if (window != null) {
+            options.addArguments("--width=" + window.getWidth(), "--height=" + window.getHeight());
+        }
+        if (lean) {
+            options.addPreference("browser.shell.checkDefaultBrowser", false);
+            options.addPreference("browser.startup.homepage_override.mstone", "ignore");
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+            options.addPreference("toolkit.telemetry.reportingpolicy.firstRun", false);
+            options.addPreference("app.update.auto", false);
+            options.addPreference("extensions.update.enabled", false);
+            options.addPreference("dom.min_background_timeout_value", 4);
+        }
+    }
+
+    private static BrowserProfile fromProperties() {
+        Browser browser = parse(Browser.class, BROWSER_PROPERTY, "edge");
+        String profile = Config.string(PROFILE_PROPERTY, "full").toLowerCase(Locale.ROOT);
+        boolean lean = switch (profile) {
+            case "lean" -> true;
+            case "full" -> false;
+            default -> throw new IllegalArgumentException(
+                    "System property '" + PROFILE_PROPERTY + "' must be lean or full but was '" + profile + "'");
+        };
+        boolean headless = Config.flag(HEADLESS_PROPERTY, lean);
+        PageLoadStrategy pageLoad = parse(PageLoadStrategy.class, PAGE_LOAD_PROPERTY, lean ? "eager" : "normal");
+        Dimension window = window(Config.string(WINDOW_PROPERTY, lean ? LEAN_WINDOW : MAXIMIZE));
+        if (window == null && headless) {
+            // A headless browser has no screen to maximize to.
+            window = window(LEAN_WINDOW);
+        }
+        String template = Config.string(USER_DATA_TEMPLATE_PROPERTY, null);
+        BrowserProfile current = new BrowserProfile(browser, lean, headless, pageLoad, window,
+                template == null ? null : Path.of(template));
+        System.out.println("Browser profile: " + current);
+        return current;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String key, String defaultValue) {
+        String value = Config.string(key, defaultValue);
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("System property '" + key + "' must be one of "
+                    + Stream.of(type.getEnumConstants()).map(c -> c.name().toLowerCase(Locale.ROOT)).toList()
+                    + " but was '" + value + "'", e);
+        }
+    }
+
+    private static Dimension window(String value) {
+        if (MAXIMIZE.equalsIgnoreCase(value)) {
+            return null;
+        }
+        String[] size = value.toLowerCase(Locale.ROOT).split("x");
+        try {
+            if (size.length == 2) {
+                return new Dimension(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException("System property '" + WINDOW_PROPERTY
+                + "' must be <width>x<height> or maximize but was '" + value + "'");
+    }
+
+    /**
+     * A private copy of {@code template} for one session: a browser locks its user-data
+     * directory, so parallel sessions cannot share one. Lock files and directories of the
+     * browser that prepared the template are left out, and links are copied as links.
+     */
+    private static Path copyTemplate(Path template) {
+        if (!Files.isDirectory(template)) {
+            throw new IllegalStateException("System property '" + USER_DATA_TEMPLATE_PROPERTY
+                    + "' must name a directory but " + template.toAbsolutePath() + " is not one");
+        }
+        Path copy = null;
+        try {
+            copy = Files.createTempDirectory("selenuim-user-data-");
+            Path target = copy;
+            Files.walkFileTree(template, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                    if (!dir.equals(template) && isLock(dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    Files.createDirectories(target.resolve(template.relativize(dir).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    if (!isLock(file)) {
+                        Files.copy(file, target.resolve(template.relativize(file).toString()), LinkOption.NOFOLLOW_LINKS);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return copy;
+        } catch (IOException e) {
+            deleteQuietly(copy);
+            throw new UncheckedIOException("Could not copy the user-data template " + template, e);
+        }
+    }
+
+    private static boolean isLock(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith("Singleton") || name.equals("lock") || name.equals(".parentlock");
+    }
+
+    private static void deleteQuietly(Path root) {
+        if (root == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not delete the user-data copy " + root + ": " + e.getMessage());
+        }
+    }
+}
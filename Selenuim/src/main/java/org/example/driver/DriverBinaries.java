@@ -0,0 +1,144 @@
+package org.example.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.example.config.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolves browser driver executables once per JVM from a local on-disk cache.
+ * <p>
+ * Versions are pinned in the {@code drivers.properties} manifest (classpath, or the file
+ * named by {@code drivers.manifest}). A pinned driver is looked up under
+ * {@code <drivers.cache>/<driver>/<version>/}; when it is missing it is downloaded once with
+ * WebDriverManager and copied there, unless {@code drivers.offline=true}, in which case
+ * resolution fails immediately with the exact path that has to be seeded. An explicit
+ * {@code webdriver.*.driver} system property always wins and skips resolution entirely.
+ */
+public final class DriverBinaries {
+
+    public static final String CACHE_PROPERTY = "drivers.cache";
+    public static final String MANIFEST_PROPERTY = "drivers.manifest";
+    public static final String OFFLINE_PROPERTY = "drivers.offline";
+
+    private static final String MANIFEST_RESOURCE = "drivers.properties";
+    private static final Map<Binary, Path> RESOLVED = new ConcurrentHashMap<>();
+
+    public enum Binary {
+        MSEDGEDRIVER("msedgedriver", "webdriver.edge.driver", WebDriverManager::edgedriver),
+        CHROMEDRIVER("chromedriver", "webdriver.chrome.driver", WebDriverManager::chromedriver),
+        GECKODRIVER("geckodriver", "webdriver.gecko.driver", WebDriverManager::firefoxdriver);
+
+        private final String fileName;
+        private final String systemProperty;
+        private final Supplier<WebDriverManager> manager;
+
+        Binary(String fileName, String systemProperty, Supplier<WebDriverManager> manager) {
+            this.fileName = fileName;
+            this.systemProperty = systemProperty;
+            this.manager = manager;
+        }
+
+        public String fileName() {
+            return fileName;
+        }
+
+        public String systemProperty() {
+            return systemProperty;
+        }
+    }
+
+    private DriverBinaries() {
+    }
+
+    /**
+     * Points Selenium at the cached executable for {@code binary}, resolving it on first use.
+     */
+    public static Path resolve(Binary binary) {
+        return RESOLVED.computeIfAbsent(binary, DriverBinaries::locate);
+    }
+
+    private static Path locate(Binary binary) {
+        String preset = System.getProperty(binary.systemProperty);
+        if (preset != null && !preset.isBlank()) {
+            return Path.of(preset);
+        }
+        String version = pinnedVersion(binary);
+        Path executable = cacheRoot().resolve(binary.fileName).resolve(version).resolve(executableName(binary));
+        if (!Files.isRegularFile(executable)) {
+            if (Config.flag(OFFLINE_PROPERTY, false)) {
+                throw new IllegalStateException(binary.fileName + " " + version + " is not in the driver cache and "
+                        + OFFLINE_PROPERTY + "=true forbids downloading it. Copy the executable to " + executable
+                        + " or point -D" + binary.systemProperty + " at an existing binary.");
+            }
+            download(binary, version, executable);
+        }
+        executable.toFile().setExecutable(true);
+        System.setProperty(binary.systemProperty, executable.toString());
+        System.out.println("Using " + binary.fileName + " " + version + " from " + executable);
+        return executable;
+    }
+
+    private static void download(Binary binary, String version, Path target) {
+        Path staging = cacheRoot().resolve(".wdm");
+        WebDriverManager manager = binary.manager.get()
+                .driverVersion(version)
+                .cachePath(staging.toString())
+                .avoidBrowserDetection();
+        manager.setup();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), binary.fileName, ".part");
+            Files.copy(Path.of(manager.getDownloadedDriverPath()), temp, StandardCopyOption.REPLACE_EXISTING);
+            // Atomic move so parallel JVMs sharing the cache never see a half-written binary.
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not cache " + binary.fileName + " " + version + " at " + target, e);
+        }
+    }
+
+    private static String pinnedVersion(Binary binary) {
+        String version = manifest().getProperty(binary.fileName);
+        if (version == null || version.isBlank()) {
+            throw new IllegalStateException("No version of " + binary.fileName + " is pinned in the driver manifest ("
+                    + Config.string(MANIFEST_PROPERTY, "classpath:" + MANIFEST_RESOURCE) + ").");
+        }
+        return version.trim();
+    }
+
+    private static Properties manifest() {
+        Properties properties = new Properties();
+        String override = Config.string(MANIFEST_PROPERTY, null);
+        try (InputStream in = override != null
+                ? Files.newInputStream(Path.of(override))
+                : DriverBinaries.class.getClassLoader().getResourceAsStream(MANIFEST_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Driver manifest " + MANIFEST_RESOURCE + " is missing from the classpath.");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the driver manifest", e);
+        }
+        return properties;
+    }
+
+    private static Path cacheRoot() {
+        return Path.of(Config.string(CACHE_PROPERTY,
+                Path.of(System.getProperty("user.home"), ".cache", "selenuim", "drivers").toString()));
+    }
+
+    private static String executableName(Binary binary) {
+        boolean windows = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win");
+        return windows ? binary.fileName + ".exe" : binary.fileName;
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.driver;
+
+import org.example.artifacts.RecentCommands;
+import org.example.config.Config;
+import org.example.network.NetworkControl;
+import org.example.trace.Tracer;
+import org.example.wait.AdaptiveTimeouts;
+import org.example.wait.ObserverWait;
+import org.example.wait.TimedWait;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thread-confined driver and wait for the test method running on the current thread.
+ * <p>
+ * TestNG shares one instance of a test class between all of its worker threads when
+ * running in parallel, so tests must not keep the driver in an instance field. Instead
+ * {@code @BeforeMethod} calls {@link #open(Duration)}, the test body uses
+ * {@link #driver()} and {@link #waiter()}, and {@code @AfterMethod} calls {@link #close()}.
+ */
+public final class DriverContext {
+
+    public static final String WAIT_ENGINE_PROPERTY = "waits.engine";
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> WAIT = new ThreadLocal<>();
+    // Key of the affine session the current thread holds
+    private static final ThreadLocal<String> AFFINITY = new ThreadLocal<>();
+    // Key of the affine row running on the current thread, held or not
+    private static final ThreadLocal<String> AFFINITY_ROW = new ThreadLocal<>();
+    private static final ThreadLocal<Engine> ENGINE = new ThreadLocal<>();
+
+    private DriverContext() {
+    }
+
+    /**
+     * Leases a session from {@link DriverPool} for the current thread and creates its wait.
+     * With {@code waits.adaptive.enabled=true}, {@code timeout} is only the fallback for
+     * locators whose timeout has not been learned yet (see
+     * {@link org.example.wait.AdaptiveTimeouts}).
+     */
+    public static WebDriver open(Duration timeout) {
+        return open(timeout, Engine.BROWSER, null);
+    }
+
+    /**
+     * Like {@link #open(Duration)}, on a session of the given {@link Engine}.
+     */
+    public static WebDriver open(Duration timeout, Engine engine) {
+        return open(timeout, engine, null);
+    }
+
+    /**
+     * Like {@link #open(Duration)}, but when {@code affinityKey} is not {@code null} the
+     * session is the one shared by every test with that key (see {@link SessionAffinity}),
+     * waiting a bounded time for the test currently holding it to finish and using a pooled
+     * session if it does not.
+     */
+    public static WebDriver open(Duration timeout, String affinityKey) {
+        return open(timeout, Engine.BROWSER, affinityKey);
+    }
+
+    private static WebDriver open(Duration timeout, Engine engine, String affinityKey) {
+        if (DRIVER.get() != null) {
+            close();
+        }
+        // Traced so starting a browser or queueing for an affine session shows on the timeline.
+        Map<String, Object> lease = affinityKey == null ? Map.of("engine", engine.name()) : Map.of("affinity", affinityKey);
+        WebDriver affine = affinityKey == null ? null : Tracer.span("session", "lease", lease, () -> AffinitySessions.lease(affinityKey));
+        if (affinityKey != null && affine == null) {
+            System.out.println("Session for " + affinityKey + " is still busy, using a pooled one");
+        }
+        Engine leased = affinityKey == null ? engine : Engine.BROWSER;
+        WebDriver driver = affine != null ? affine : Tracer.span("session", "lease", lease, () -> DriverPool.lease(leased));
+        NetworkControl.restoreDefaults(driver);
+        RecentCommands.clear();
+        DRIVER.set(driver);
+        AFFINITY.set(affine == null ? null : affinityKey);
+        AFFINITY_ROW.set(affinityKey);
+        ENGINE.set(leased);
+        WAIT.set(newWait(driver, timeout));
+        return driver;
+    }
+
+    /**
+     * Announces that {@code rows} more rows with {@code affinityKey} will run, so the key's
+     * session returns to the pool once the last of them is done.
+     */
+    public static void expectAffinityRows(String affinityKey, int rows) {
+        AffinitySessions.expect(affinityKey, rows);
+    }
+
+    /**
+     * Affinity key of the data-provider row about to run, or {@code null} when {@code method}
+     * is not annotated with {@link SessionAffinity} or has no parameters. Rows of different
+     * test classes never share a key.
+     */
+    public static String affinityKey(Method method, Object[] row) {
+        SessionAffinity affinity = method.getAnnotation(SessionAffinity.class);
+        if (affinity == null || row == null || row.length <= affinity.parameter()) {
+            return null;
+        }
+        return method.getDeclaringClass().getName() + "/" + row[affinity.parameter()];
+    }
+
+    /**
+     * The wait implementation selected by {@code waits.engine}: {@code observer} (default)
+     * resolves {@link org.example.wait.DomConditions} in the page, {@code polling} is the
+     * plain client-side {@link WebDriverWait}. Both report their waits to
+     * {@link org.example.metrics.CommandMetrics}.
+     */
+    public static WebDriverWait newWait(WebDriver driver, Duration timeout) {
+        return "polling".equalsIgnoreCase(Config.string(WAIT_ENGINE_PROPERTY, "observer"))
+                ? new TimedWait(driver, timeout)
+                : new ObserverWait(driver, timeout);
+    }
+
+    /**
+     * The affinity key the current thread opened {@code driver} with, or {@code null} when
+     * {@code driver} is not the current thread's session or was leased from the pool.
+     */
+    public static String affinityKeyOf(WebDriver driver) {
+        return DRIVER.get() == driver ? AFFINITY.get() : null;
+    }
+
+    /**
+     * The engine of the current thread's session, or {@code null} when none is open.
+     */
+    public static Engine engine() {
+        return ENGINE.get();
+    }
+
+    public static boolean isOpen() {
+        return DRIVER.get() != null;
+    }
+
+    public static WebDriver driver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("No driver is open on thread '" + Thread.currentThread().getName()
+                    + "'. Call DriverContext.open(...) from @BeforeMethod first.");
+        }
+        return driver;
+    }
+
+    public static WebDriverWait waiter() {
+        WebDriverWait wait = WAIT.get();
+        if (wait == null) {
+            throw new IllegalStateException("No wait is open on thread '" + Thread.currentThread().getName() + "'.");
+        }
+        return wait;
+    }
+
+    /**
+     * Returns the current thread's session to the pool, or hands an affine session to the
+     * next test with the same key. Safe to call when nothing is open.
+     */
+    public static void close() {
+        WebDriver driver = DRIVER.get();
+        String affinityKey = AFFINITY.get();
+        String affinityRow = AFFINITY_ROW.get();
+        DRIVER.remove();
+        WAIT.remove();
+        AFFINITY.remove();
+        AFFINITY_ROW.remove();
+        ENGINE.remove();
+        AdaptiveTimeouts.reset();
+        if (affinityKey == null) {
+            DriverPool.release(driver);
+        }
+        if (affinityRow != null) {
+            AffinitySessions.release(affinityRow, affinityKey != null);
+        }
+    }
+}
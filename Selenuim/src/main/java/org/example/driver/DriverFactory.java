@@ -0,0 +1,77 @@
+package org.example.driver;
+
+import org.example.artifacts.RecentCommands;
+import org.example.metrics.CommandMetrics;
+import org.example.metrics.CommandTimingListener;
+import org.example.network.NetworkControl;
+import org.example.perf.NavigationTimingListener;
+import org.example.perf.PageTimings;
+import org.example.trace.TraceListener;
+import org.example.trace.Tracer;
+import org.htmlunit.BrowserVersion;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates brand-new browser sessions. Tests should not call this directly; they lease
+ * sessions from {@link DriverPool} so browsers are reused between test methods. Which browser
+ * is started, and with what options, is decided by the {@link BrowserProfile}.
+ * <p>
+ * With {@code metrics.enabled=true} the session is wrapped so every command is timed by
+ * {@link CommandTimingListener}, and with {@code perf.timing=true} so every navigation is
+ * captured by {@link NavigationTimingListener}. With {@code trace.enabled=true} every command
+ * is also a span of the {@link Tracer} timeline. Unless {@code artifacts.commands=0} it also
+ * keeps the {@link RecentCommands} for failure reports. When {@link NetworkControl} is on,
+ * the session is created with BiDi enabled and its network events are subscribed to.
+ * <p>
+ * {@link Engine#HTMLUNIT} sessions get the same command listeners but no page timings or
+ * network control, which need a real browser.
+ */
+public final class DriverFactory {
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver create() {
+        return create(Engine.BROWSER);
+    }
+
+    public static WebDriver create(Engine engine) {
+        if (engine == Engine.HTMLUNIT) {
+            return decorate(new HtmlUnitDriver(BrowserVersion.BEST_SUPPORTED, true), false);
+        }
+        BrowserProfile profile = BrowserProfile.current();
+        DriverBinaries.resolve(profile.browser().binary());
+        AbstractDriverOptions<?> options = profile.options();
+        NetworkControl.configure(options);
+        WebDriver driver = profile.start(options);
+        WebDriver handle = decorate(driver, PageTimings.enabled());
+        NetworkControl.attach(driver, handle);
+        return handle;
+    }
+
+    private static WebDriver decorate(WebDriver driver, boolean pageTimings) {
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (CommandMetrics.enabled()) {
+            listeners.add(new CommandTimingListener());
+        }
+        if (Tracer.enabled()) {
+            listeners.add(new TraceListener());
+        }
+        if (RecentCommands.enabled()) {
+            listeners.add(new RecentCommands());
+        }
+        if (pageTimings) {
+            listeners.add(new NavigationTimingListener(driver));
+        }
+        return listeners.isEmpty()
+                ? driver
+                : new EventFiringDecorator<>(listeners.toArray(WebDriverListener[]::new)).decorate(driver);
+    }
+}
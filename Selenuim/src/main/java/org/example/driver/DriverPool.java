@@ -0,0 +1,267 @@
+package org.example.driver;
+
+import org.example.config.Config;
+import org.example.network.NetworkControl;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Keeps one warm browser session per worker thread (and per {@link Engine}) and hands it out
+ * to test methods.
+ * <p>
+ * {@link #lease()} returns the thread's session (starting one if needed) and
+ * {@link #release(WebDriver)} wipes it back to a blank state: extra windows are closed,
+ * cookies, localStorage and sessionStorage are cleared, the script timeout is set back to
+ * the W3C default and the tab is parked on {@code about:blank}. A session is only quit when
+ * it stops responding, when the reset fails, or when it has served
+ * {@code driver.pool.maxUses} tests (default 25).
+ * <p>
+ * {@link #prewarm} starts sessions in the background before any test asks for one; a thread
+ * without a session of its own takes the next prewarmed one (waiting for it to finish
+ * starting if need be) instead of launching a browser itself.
+ */
+public final class DriverPool {
+
+    public static final String MAX_USES_PROPERTY = "driver.pool.maxUses";
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private static final ThreadLocal<Map<Engine, PooledDriver>> WARM = ThreadLocal.withInitial(() -> new EnumMap<>(Engine.class));
+    private static final Set<PooledDriver> SESSIONS = ConcurrentHashMap.newKeySet();
+    private static final Queue<CompletableFuture<WebDriver>> PREWARMED = new ConcurrentLinkedQueue<>();
+    private static final Duration PREWARM_SHUTDOWN_WAIT = Duration.ofSeconds(30);
+    // What a new W3C session starts with
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    /**
+     * Returns the calling thread's warm browser session, replacing it first if it is unhealthy.
+     */
+    public static WebDriver lease() {
+        return lease(Engine.BROWSER);
+    }
+
+    /**
+     * Like {@link #lease()}, for a session of the given engine.
+     */
+    public static WebDriver lease(Engine engine) {
+        PooledDriver pooled = WARM.get().get(engine);
+        if (pooled != null && pooled.leased) {
+            throw new IllegalStateException("The driver for thread '" + Thread.currentThread().getName()
+                    + "' is already leased; release it before leasing again.");
+        }
+        if (pooled != null && !isHealthy(pooled.driver)) {
+            System.out.println("Recycling unresponsive browser session on " + Thread.currentThread().getName());
+            discard(pooled);
+            pooled = null;
+        }
+        if (pooled == null) {
+            pooled = new PooledDriver(engine, newSession(engine));
+            SESSIONS.add(pooled);
+            WARM.get().put(engine, pooled);
+        }
+        pooled.leased = true;
+        pooled.uses++;
+        return pooled.driver;
+    }
+
+    /**
+     * Starts {@code count} sessions on background threads and runs {@code prepare} on each
+     * (e.g. open the application, log in). Sessions that fail to prepare are still used; ones
+     * that fail to start are skipped and the leasing thread starts its own.
+     */
+    public static void prewarm(int count, Consumer<WebDriver> prepare) {
+        for (int i = 0; i < count; i++) {
+            PREWARMED.add(CompletableFuture.supplyAsync(() -> {
+                WebDriver driver = DriverFactory.create();
+                try {
+                    prepare.accept(driver);
+                } catch (RuntimeException e) {
+                    System.err.println("Could not prepare prewarmed browser session, using it as is: " + e.getMessage());
+                }
+                return driver;
+            }, command -> Thread.ofVirtual().name("driver-prewarm").start(command)));
+        }
+    }
+
+    /**
+     * Quits prewarmed sessions nobody has leased, waiting for ones still starting.
+     */
+    public static void discardPrewarmed() {
+        CompletableFuture<WebDriver> pending;
+        while ((pending = PREWARMED.poll()) != null) {
+            try {
+                quitQuietly(pending.get(PREWARM_SHUTDOWN_WAIT.toSeconds(), TimeUnit.SECONDS));
+            } catch (ExecutionException | TimeoutException e) {
+                pending.thenAccept(DriverPool::quitQuietly);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hands a leased session back. The session is reset for the next test on this thread,
+     * or quit when it has reached its use limit or can no longer be reset.
+     */
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled = WARM.get().values().stream()
+                .filter(candidate -> candidate.driver == driver)
+                .findFirst()
+                .orElse(null);
+        if (pooled == null) {
+            // Not ours (e.g. released from another thread): never leave it running.
+            quitQuietly(driver);
+            return;
+        }
+        pooled.leased = false;
+        if (pooled.uses >= maxUses() || !reset(driver)) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Takes over a session started elsewhere, e.g. an affine one whose rows are done, as the
+     * calling thread's warm session. It is reset first and keeps counting towards
+     * {@code driver.pool.maxUses}; it is quit instead if the thread already has a session,
+     * it is used up or it cannot be reset.
+     */
+    static void adopt(WebDriver driver, int uses) {
+        Map<Engine, PooledDriver> warm = WARM.get();
+        if (warm.containsKey(Engine.BROWSER) || uses >= maxUses() || !reset(driver)) {
+            quitQuietly(driver);
+            return;
+        }
+        PooledDriver pooled = new PooledDriver(Engine.BROWSER, driver);
+        pooled.uses = uses;
+        SESSIONS.add(pooled);
+        warm.put(Engine.BROWSER, pooled);
+    }
+
+    /**
+     * Quits every session the pool has started. Runs automatically at JVM shutdown.
+     */
+    public static void shutdown() {
+        discardPrewarmed();
+        for (PooledDriver pooled : SESSIONS) {
+            quitQuietly(pooled.driver);
+        }
+        SESSIONS.clear();
+    }
+
+    static int maxUses() {
+        return Math.max(1, Config.integer(MAX_USES_PROPERTY, 25));
+    }
+
+    /**
+     * A new browser session for the caller to own: the next prewarmed one, or a fresh launch.
+     */
+    static WebDriver newSession() {
+        return newSession(Engine.BROWSER);
+    }
+
+    private static WebDriver newSession(Engine engine) {
+        if (engine != Engine.BROWSER) {
+            return DriverFactory.create(engine);
+        }
+        CompletableFuture<WebDriver> prewarmed;
+        while ((prewarmed = PREWARMED.poll()) != null) {
+            try {
+                WebDriver driver = prewarmed.join();
+                if (isHealthy(driver)) {
+                    return driver;
+                }
+                quitQuietly(driver);
+            } catch (CompletionException e) {
+                System.err.println("Prewarmed browser session failed to start: " + e.getCause());
+            }
+        }
+        return DriverFactory.create();
+    }
+
+    private static boolean reset(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String primary = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(primary)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(primary);
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            driver.manage().deleteAllCookies();
+            // ObserverWait sizes the script timeout to its own waits.
+            driver.manage().timeouts().scriptTimeout(DEFAULT_SCRIPT_TIMEOUT);
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            System.err.println("Could not reset browser session, it will be recycled: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void discard(PooledDriver pooled) {
+        SESSIONS.remove(pooled);
+        WARM.get().remove(pooled.engine, pooled);
+        quitQuietly(pooled.driver);
+    }
+
+    static void quitQuietly(WebDriver driver) {
+        NetworkControl.detach(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            System.err.println("Ignoring error while quitting browser session: " + e.getMessage());
+        } finally {
+            BrowserProfile.sessionEnded(driver);
+        }
+    }
+
+    private static final class PooledDriver {
+        private final Engine engine;
+        private final WebDriver driver;
+        private int uses;
+        private boolean leased;
+
+        private PooledDriver(Engine engine, WebDriver driver) {
+            this.engine = engine;
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.driver;
+
+import org.example.config.Config;
+import org.example.config.SwagLabs;
+import org.example.server.SwagLabsServer;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What a test needs to run on, from cheapest to most capable.
+ * <p>
+ * Tests declare the cheapest engine that can run them with {@link MinimumEngine}; anything
+ * unannotated gets {@link #BROWSER}. A lighter engine is only used against the local replica
+ * ({@code server.local=true}), whose markup and scripts it has been checked against; against
+ * any other site, or with {@code driver.lightweight=false}, every test runs in the browser.
+ * A test that fails on HtmlUnit with a driver error is {@linkplain #promote promoted} and
+ * re-run in the browser.
+ */
+public enum Engine {
+
+    /**
+     * HtmlUnit inside the test JVM: DOM, CSS visibility, forms, cookies, storage and most
+     * page JavaScript, but no layout engine, screenshots, images or BiDi. Good for markup
+     * checks and form validation; a session starts in milliseconds once the JVM is warm.
+     */
+    HTMLUNIT,
+
+    /**
+     * A real browser session, started with the suite's {@link BrowserProfile}.
+     */
+    BROWSER;
+
+    public static final String LIGHTWEIGHT_PROPERTY = "driver.lightweight";
+
+    private static final Set<Method> PROMOTED = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The engine {@code method} will run on: its own {@link MinimumEngine}, else its class's,
+     * else {@link #BROWSER}. Always {@link #BROWSER} when the local replica is not serving
+     * the tests or {@code method} has been promoted.
+     */
+    public static Engine forTest(Method method) {
+        if (!Config.flag(LIGHTWEIGHT_PROPERTY, true) || PROMOTED.contains(method)
+                || !SwagLabsServer.serves(SwagLabs.baseUrl())) {
+            return BROWSER;
+        }
+        MinimumEngine minimum = method.getAnnotation(MinimumEngine.class);
+        if (minimum == null) {
+            minimum = method.getDeclaringClass().getAnnotation(MinimumEngine.class);
+        }
+        return minimum == null ? BROWSER : minimum.value();
+    }
+
+    /**
+     * Runs {@code method} (every row of it) in the browser from now on, e.g. after it failed
+     * on a lighter engine.
+     */
+    public static void promote(Method method) {
+        PROMOTED.add(method);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The cheapest {@link Engine} a test (or every test of a class) can run on. Data-provider rows
+ * run on their method's engine, so rows that need more belong in a separate method.
+ * The test's {@code @BeforeMethod} passes it on with
+ * {@code DriverContext.open(timeout, Engine.forTest(method))}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface MinimumEngine {
+
+    Engine value();
+}
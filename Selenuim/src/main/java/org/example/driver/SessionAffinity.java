@@ -0,0 +1,28 @@
+package org.example.driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a data-driven test whose rows can share one browser session when they have the same
+ * value in the {@link #parameter() key parameter}, typically the username.
+ * <p>
+ * Rows with the same key take turns on a single session that stays logged in between them;
+ * rows with different keys still run in parallel. A row that would wait too long for its
+ * key's session runs on an ordinary pooled session instead (see
+ * {@code driver.affinity.waitSeconds}). Rows sharing a key also share
+ * cookies and storage, so only use this where a row does not depend on a pristine session.
+ * The test's {@code @BeforeMethod} passes the key on with
+ * {@code DriverContext.open(timeout, DriverContext.affinityKey(method, row))}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SessionAffinity {
+
+    /**
+     * Index of the test method parameter whose value is the affinity key.
+     */
+    int parameter() default 0;
+}
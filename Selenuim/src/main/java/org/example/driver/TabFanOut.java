@@ -0,0 +1,79 @@
+package org.example.driver;
+
+import org.example.config.Config;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Visits a list of pages in extra tabs of the current session instead of navigating the one
+ * tab there and back for each page.
+ * <p>
+ * Pages are opened in batches of {@code tabs.fanout} tabs (default 4). Every tab in a batch
+ * starts loading before the first one is read, so the loads overlap, and the original tab
+ * never leaves its page. Each tab is closed once it has been read, and the session is switched
+ * back to the original tab afterwards, also when a read fails.
+ */
+public final class TabFanOut {
+
+    public static final String FANOUT_PROPERTY = "tabs.fanout";
+
+    private static final String NAVIGATE_SCRIPT = "window.location.assign(arguments[0]);";
+
+    private TabFanOut() {
+    }
+
+    /**
+     * Tabs opened at once, or 0 when fan-out is turned off.
+     */
+    public static int width() {
+        return Math.max(0, Config.integer(FANOUT_PROPERTY, 4));
+    }
+
+    /**
+     * Opens each URL in its own tab and applies {@code read} with the driver switched to that
+     * tab. {@code read} is responsible for waiting until the page is ready. Results are in the
+     * order of {@code urls}.
+     */
+    public static <T> List<T> visit(WebDriver driver, List<String> urls, Function<WebDriver, T> read) {
+        int width = Math.max(1, width());
+        String origin = driver.getWindowHandle();
+        List<T> results = new ArrayList<>(urls.size());
+        List<String> opened = new ArrayList<>(width);
+        try {
+            for (int start = 0; start < urls.size(); start += width) {
+                for (String url : urls.subList(start, Math.min(urls.size(), start + width))) {
+                    // Navigating by script returns immediately, unlike get(), so the next tab
+                    // can be opened while this one loads.
+                    opened.add(driver.switchTo().newWindow(WindowType.TAB).getWindowHandle());
+                    ((JavascriptExecutor) driver).executeScript(NAVIGATE_SCRIPT, url);
+                }
+                for (String handle : opened) {
+                    driver.switchTo().window(handle);
+                    results.add(read.apply(driver));
+                }
+                closeAll(driver, opened);
+            }
+        } finally {
+            closeAll(driver, opened);
+            driver.switchTo().window(origin);
+        }
+        return results;
+    }
+
+    private static void closeAll(WebDriver driver, List<String> handles) {
+        for (String handle : handles) {
+            try {
+                driver.switchTo().window(handle).close();
+            } catch (WebDriverException e) {
+                System.err.println("Could not close tab " + handle + ": " + e.getMessage());
+            }
+        }
+        handles.clear();
+    }
+}
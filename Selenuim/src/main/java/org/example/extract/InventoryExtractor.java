@@ -0,0 +1,95 @@
+package org.example.extract;
+
+import org.example.wait.PageScripts;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads every product card on the current page in a single {@code executeScript} round trip
+ * instead of one {@code getText()}/{@code isDisplayed()} call per element and property.
+ * Visibility is computed in the page by {@link PageScripts#VISIBLE_FUNCTION}.
+ * <p>
+ * Cards and the detail page use the same markup under different class prefixes
+ * ({@code inventory_item_*} and {@code inventory_details_*}), so one script reads both.
+ */
+public final class InventoryExtractor {
+
+    private static final String EXTRACT_SCRIPT = PageScripts.VISIBLE_FUNCTION
+            + "var text = function (el) { return el ? el.textContent.trim() : null; };"
+            + "var items = document.querySelectorAll(arguments[0]);"
+            + "var prefix = '.' + arguments[1];"
+            + "var result = [];"
+            + "for (var i = 0; i < items.length; i++) {"
+            + "  var item = items[i];"
+            + "  var name = item.querySelector(prefix + '_name');"
+            + "  var price = item.querySelector(prefix + '_price');"
+            + "  var description = item.querySelector(prefix + '_desc');"
+            + "  var image = item.querySelector('img' + prefix + '_img') || item.querySelector(prefix + '_img');"
+            + "  var button = item.querySelector('button:not(#back-to-products)');"
+            + "  var link = name && name.closest('a') || item.querySelector('a[href]');"
+            + "  var detailUrl = link ? link.href : null;"
+            + "  var linkId = link && /^item_(\\d+)_title_link$/.exec(link.id);"
+            + "  if (linkId && (!detailUrl || detailUrl.indexOf('inventory-item.html') < 0)) {"
+            + "    detailUrl = new URL('inventory-item.html?id=' + linkId[1], location.href).href;"
+            + "  }"
+            + "  result.push({"
+            + "    name: text(name), price: text(price), description: text(description),"
+            + "    nameDisplayed: visible(name), priceDisplayed: visible(price),"
+            + "    descriptionDisplayed: visible(description),"
+            + "    imageDisplayed: visible(image) && (!image.complete || image.naturalWidth > 0),"
+            + "    buttonText: text(button), buttonEnabled: !!button && !button.disabled,"
+            + "    detailUrl: detailUrl"
+            + "  });"
+            + "}"
+            + "return result;";
+
+    private static final String INVENTORY_ITEM_SELECTOR = ".inventory_item";
+    private static final String CART_ITEM_SELECTOR = ".cart_item";
+    private static final String DETAIL_SELECTOR = ".inventory_details";
+    private static final String ITEM_PREFIX = "inventory_item";
+    private static final String DETAIL_PREFIX = "inventory_details";
+
+    private InventoryExtractor() {
+    }
+
+    /**
+     * All product cards on the inventory page, in display order.
+     */
+    public static List<InventoryItem> inventory(WebDriver driver) {
+        return extract(driver, INVENTORY_ITEM_SELECTOR, ITEM_PREFIX);
+    }
+
+    /**
+     * All line items on the cart or checkout overview page, in display order.
+     */
+    public static List<InventoryItem> cart(WebDriver driver) {
+        return extract(driver, CART_ITEM_SELECTOR, ITEM_PREFIX);
+    }
+
+    /**
+     * The product shown on an {@code inventory-item.html} detail page. Fails if the page has
+     * no product details.
+     */
+    public static InventoryItem detail(WebDriver driver) {
+        List<InventoryItem> items = extract(driver, DETAIL_SELECTOR, DETAIL_PREFIX);
+        if (items.isEmpty()) {
+            throw new AssertionError("No product details on " + driver.getCurrentUrl());
+        }
+        return items.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<InventoryItem> extract(WebDriver driver, String itemSelector, String classPrefix) {
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(EXTRACT_SCRIPT, itemSelector, classPrefix);
+        List<InventoryItem> items = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            items.add(InventoryItem.fromScript(row));
+        }
+        return items;
+    }
+}
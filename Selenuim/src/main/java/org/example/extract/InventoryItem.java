@@ -0,0 +1,50 @@
+package org.example.extract;
+
+import java.util.Map;
+
+/**
+ * One {@code inventory_item} card, cart line or product detail page as read by
+ * {@link InventoryExtractor}.
+ *
+ * @param priceText  the label exactly as shown, e.g. {@code $29.99}
+ * @param price      the label parsed as a number
+ * @param buttonText the add/remove button label, e.g. {@code ADD TO CART} or {@code REMOVE}
+ * @param detailUrl  absolute URL of the item's detail page, empty on the detail page itself
+ */
+public record InventoryItem(String name, String priceText, double price, String description,
+                            boolean nameDisplayed, boolean priceDisplayed, boolean descriptionDisplayed,
+                            boolean imageDisplayed, String buttonText, boolean buttonEnabled, String detailUrl) {
+
+    static InventoryItem fromScript(Map<String, Object> values) {
+        String priceText = text(values.get("price"));
+        return new InventoryItem(
+                text(values.get("name")),
+                priceText,
+                parsePrice(priceText),
+                text(values.get("description")),
+                flag(values.get("nameDisplayed")),
+                flag(values.get("priceDisplayed")),
+                flag(values.get("descriptionDisplayed")),
+                flag(values.get("imageDisplayed")),
+                text(values.get("buttonText")),
+                flag(values.get("buttonEnabled")),
+                text(values.get("detailUrl")));
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString().trim();
+    }
+
+    private static boolean flag(Object value) {
+        return Boolean.TRUE.equals(value);
+    }
+
+    private static double parsePrice(String priceText) {
+        String digits = priceText.replace("$", "").trim();
+        try {
+            return digits.isEmpty() ? Double.NaN : Double.parseDouble(digits);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.load;
+
+import java.util.List;
+
+/**
+ * The suite's user journeys replayed as page requests. Everything Swag Labs does between
+ * pages (login validation, cart, sorting) happens in the browser, so at the HTTP level a
+ * journey is the sequence of documents it loads; the login itself is the point from which the
+ * session cookie is sent.
+ */
+public enum Journey {
+
+    /**
+     * Check_Out: log in, open a product, add it and go through the three checkout steps.
+     */
+    CHECKOUT(List.of(
+            new Step("index.html", false),
+            new Step("inventory.html", true),
+            new Step("inventory-item.html?id=4", true),
+            new Step("cart.html", true),
+            new Step("checkout-step-one.html", true),
+            new Step("checkout-step-two.html", true),
+            new Step("checkout-complete.html", true))),
+
+    /**
+     * Sort: log in and load the inventory; the sorting itself is client-side.
+     */
+    SORT(List.of(
+            new Step("index.html", false),
+            new Step("inventory.html", true)));
+
+    private final List<Step> steps;
+
+    Journey(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    public List<Step> steps() {
+        return steps;
+    }
+
+    /**
+     * One page of a journey, relative to the application root.
+     *
+     * @param signedIn whether the session cookie is sent with the request
+     */
+    public record Step(String path, boolean signedIn) {
+    }
+}
@@ -0,0 +1,310 @@
+package org.example.load;
+
+import org.example.config.Config;
+import org.example.server.SwagLabsServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replays the suite's {@link Journey journeys} as HTTP sessions, one virtual thread per
+ * simulated user, and reports throughput and latency percentiles in a {@link LoadReport}.
+ * <p>
+ * Virtual users start evenly spread over the ramp-up, then loop until the run's duration is
+ * up: pick a journey and a Swag Labs account from the weighted mixes, load each page of the
+ * journey together with the stylesheet and scripts it references (the replica marks them
+ * {@code no-store}, so a browser refetches them too), and pause for a jittered think time
+ * between pages. Once past the login page the {@code session-username} cookie is sent, so
+ * per-user server behaviour such as the glitch user's latency applies.
+ * <p>
+ * {@link #main} runs from {@code load.*} system properties and serves the local replica
+ * unless {@code load.baseUrl} is given:
+ * {@code mvn -q compile exec:java -Dexec.mainClass=org.example.load.LoadGenerator -Dload.concurrency=200}
+ */
+public final class LoadGenerator {
+
+    public static final String BASE_URL_PROPERTY = "load.baseUrl";
+    public static final String CONCURRENCY_PROPERTY = "load.concurrency";
+    public static final String RAMP_UP_PROPERTY = "load.rampUpSeconds";
+    public static final String DURATION_PROPERTY = "load.durationSeconds";
+    public static final String THINK_TIME_PROPERTY = "load.thinkTimeMs";
+    public static final String USERS_PROPERTY = "load.users";
+    public static final String JOURNEYS_PROPERTY = "load.journeys";
+    public static final String OUTPUT_PROPERTY = "load.output";
+
+    private static final List<String> PAGE_ASSETS = List.of("css/app.css", "js/catalog.js", "js/app.js");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String root;
+    private final int concurrency;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final Duration thinkTime;
+    private final Map<String, Integer> users;
+    private final Map<Journey, Integer> journeys;
+
+    private LoadGenerator(Builder builder) {
+        this.root = builder.baseUrl.endsWith("/") ? builder.baseUrl : builder.baseUrl + "/";
+        this.concurrency = builder.concurrency;
+        this.rampUp = builder.rampUp;
+        this.duration = builder.duration;
+        this.thinkTime = builder.thinkTime;
+        this.users = Map.copyOf(builder.users);
+        this.journeys = Map.copyOf(builder.journeys);
+    }
+
+    public static Builder builder(String baseUrl) {
+        return new Builder(baseUrl);
+    }
+
+    /**
+     * Runs the load until the configured duration has passed and every in-flight journey has
+     * finished.
+     */
+    public LoadReport run() {
+        LoadReport report = new LoadReport();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .executor(requests)
+                     .connectTimeout(REQUEST_TIMEOUT)
+                     .followRedirects(HttpClient.Redirect.NORMAL)
+                     .build();
+             ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                long startDelay = rampUp.toNanos() * i / concurrency;
+                virtualUsers.submit(() -> {
+                    sleepNanos(startDelay);
+                    while (System.nanoTime() < end) {
+                        runJourney(client, pick(journeys), pick(users), report);
+                    }
+                    return null;
+                });
+            }
+        }
+        report.finish(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    private void runJourney(HttpClient client, Journey journey, String user, LoadReport report) throws InterruptedException {
+        long journeyNanos = 0;
+        List<Journey.Step> steps = journey.steps();
+        for (int i = 0; i < steps.size(); i++) {
+            Journey.Step step = steps.get(i);
+            journeyNanos += loadPage(client, step, user, report);
+            if (i < steps.size() - 1) {
+                think();
+            }
+        }
+        report.recordJourney(journey, user, journeyNanos);
+    }
+
+    /**
+     * Loads the document, then its assets in parallel, and returns the elapsed nanoseconds.
+     */
+    private long loadPage(HttpClient client, Journey.Step step, String user, LoadReport report) throws InterruptedException {
+        long started = System.nanoTime();
+        boolean documentLoaded = fetch(client, step.path(), step.signedIn() ? user : null);
+        int requestCount = 1;
+        int failedRequests = documentLoaded ? 0 : 1;
+        if (documentLoaded) {
+            List<CompletableFuture<Boolean>> assets = new ArrayList<>();
+            for (String asset : PAGE_ASSETS) {
+                assets.add(client.sendAsync(request(asset, step.signedIn() ? user : null), HttpResponse.BodyHandlers.discarding())
+                        .handle((response, error) -> error == null && response.statusCode() / 100 == 2));
+            }
+            for (CompletableFuture<Boolean> asset : assets) {
+                if (!asset.join()) {
+                    failedRequests++;
+                }
+            }
+            requestCount += assets.size();
+        }
+        long elapsed = System.nanoTime() - started;
+        report.recordPage(step.path(), requestCount, failedRequests, elapsed);
+        return elapsed;
+    }
+
+    private boolean fetch(HttpClient client, String path, String user) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = client.send(request(path, user), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private HttpRequest request(String path, String user) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(root + path)).timeout(REQUEST_TIMEOUT).GET();
+        if (user != null) {
+            request.header("Cookie", "session-username=" + user);
+        }
+        return request.build();
+    }
+
+    private void think() throws InterruptedException {
+        long mean = thinkTime.toNanos();
+        if (mean > 0) {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(mean / 2, mean + mean / 2 + 1)));
+        }
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            Thread.sleep(Duration.ofNanos(nanos));
+        }
+    }
+
+    private static <T> T pick(Map<T, Integer> weights) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<T, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: weights " + weights);
+    }
+
+    /**
+     * Parses a weighted mix such as {@code standard_user:6,problem_user:3}; a name without a
+     * weight counts once.
+     */
+    static Map<String, Integer> weights(String key, String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.trim().split(":", 2);
+            try {
+                weights.put(pair[0].trim(), pair.length == 2 ? Integer.parseInt(pair[1].trim()) : 1);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("System property '" + key + "' has a non-numeric weight in '" + part + "'", e);
+            }
+        }
+        return weights;
+    }
+
+    public static void main(String[] args) {
+        String baseUrl = Config.string(BASE_URL_PROPERTY, null);
+        SwagLabsServer server = null;
+        if (baseUrl == null) {
+            server = SwagLabsServer.builder()
+                    .userLatency(SwagLabsServer.PERFORMANCE_GLITCH_USER,
+                            Duration.ofMillis(Config.integer("server.glitchLatencyMs", 1500)))
+                    .start();
+            baseUrl = server.baseUrl();
+        }
+        Map<Journey, Integer> journeyMix = new LinkedHashMap<>();
+        weights(JOURNEYS_PROPERTY, Config.string(JOURNEYS_PROPERTY, "checkout:1,sort:1"))
+                .forEach((name, weight) -> journeyMix.put(Journey.valueOf(name.toUpperCase()), weight));
+        try {
+            System.out.println("Generating load against " + baseUrl);
+            LoadReport report = builder(baseUrl)
+                    .concurrency(Config.integer(CONCURRENCY_PROPERTY, 50))
+                    .rampUp(Duration.ofSeconds(Config.integer(RAMP_UP_PROPERTY, 10)))
+                    .duration(Duration.ofSeconds(Config.integer(DURATION_PROPERTY, 60)))
+                    .thinkTime(Duration.ofMillis(Config.integer(THINK_TIME_PROPERTY, 500)))
+                    .users(weights(USERS_PROPERTY, Config.string(USERS_PROPERTY,
+                            "standard_user:6,problem_user:3,performance_glitch_user:1")))
+                    .journeys(journeyMix)
+                    .build()
+                    .run();
+            System.out.print(report);
+            Path output = Path.of(Config.string(OUTPUT_PROPERTY, "target/load-report.json"));
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(output, new Json().toJson(report.summary()));
+            System.out.println("Load report written to " + output.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final String baseUrl;
+        private int concurrency = 10;
+        private Duration rampUp = Duration.ZERO;
+        private Duration duration = Duration.ofSeconds(30);
+        private Duration thinkTime = Duration.ofMillis(500);
+        private Map<String, Integer> users = Map.of("standard_user", 1);
+        private Map<Journey, Integer> journeys = Map.of(Journey.CHECKOUT, 1, Journey.SORT, 1);
+
+        private Builder(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("concurrency must be at least 1");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public Builder rampUp(Duration rampUp) {
+            this.rampUp = rampUp;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder thinkTime(Duration thinkTime) {
+            this.thinkTime = thinkTime;
+            return this;
+        }
+
+        /**
+         * Swag Labs accounts to sign in as, with relative weights.
+         */
+        public Builder users(Map<String, Integer> users) {
+            this.users = requireWeights("users", users);
+            return this;
+        }
+
+        public Builder journeys(Map<Journey, Integer> journeys) {
+            this.journeys = requireWeights("journeys", journeys);
+            return this;
+        }
+
+        public LoadGenerator build() {
+            return new LoadGenerator(this);
+        }
+
+        private static <T> Map<T, Integer> requireWeights(String name, Map<T, Integer> weights) {
+            if (weights.isEmpty() || weights.values().stream().anyMatch(weight -> weight < 0)
+                    || weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+                throw new IllegalArgumentException(name + " needs at least one positive weight: " + weights);
+            }
+            return weights;
+        }
+    }
+}
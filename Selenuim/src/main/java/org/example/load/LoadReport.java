@@ -0,0 +1,113 @@
+package org.example.load;
+
+import org.example.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome of a {@link LoadGenerator} run: throughput, error count and latency percentiles
+ * per page and per journey/user combination. Requests and errors are both counted per HTTP
+ * request (a page is its document plus its assets), so {@code errors / requests} is the
+ * error rate.
+ */
+public final class LoadReport {
+
+    private final Map<String, LatencyHistogram> pages = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> journeys = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong completedJourneys = new AtomicLong();
+    private volatile Duration elapsed = Duration.ZERO;
+
+    void recordPage(String path, int requestCount, int failedRequests, long nanos) {
+        requests.addAndGet(requestCount);
+        errors.addAndGet(failedRequests);
+        pages.computeIfAbsent(path, ignored -> new LatencyHistogram()).record(nanos);
+    }
+
+    void recordJourney(Journey journey, String user, long nanos) {
+        completedJourneys.incrementAndGet();
+        journeys.computeIfAbsent(journey.name().toLowerCase() + " as " + user, ignored -> new LatencyHistogram()).record(nanos);
+    }
+
+    void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * Requests that failed or did not answer with a 2xx status.
+     */
+    public long errors() {
+        return errors.get();
+    }
+
+    public long completedJourneys() {
+        return completedJourneys.get();
+    }
+
+    public double journeysPerSecond() {
+        return perSecond(completedJourneys.get());
+    }
+
+    public double requestsPerSecond() {
+        return perSecond(requests.get());
+    }
+
+    /**
+     * The report as plain maps and numbers, ready for {@link org.openqa.selenium.json.Json}.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsedMs", elapsed.toMillis());
+        summary.put("completedJourneys", completedJourneys());
+        summary.put("requests", requests());
+        summary.put("errors", errors());
+        summary.put("journeysPerSecond", round(journeysPerSecond()));
+        summary.put("requestsPerSecond", round(requestsPerSecond()));
+        summary.put("journeys", summaries(journeys));
+        summary.put("pages", summaries(pages));
+        return summary;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format(
+                "%d journeys, %d requests, %d errors in %.1f s (%.2f journeys/s, %.2f requests/s)%n",
+                completedJourneys(), requests(), errors(), elapsed.toMillis() / 1000.0, journeysPerSecond(), requestsPerSecond()));
+        text.append(String.format("%-48s %7s %9s %9s %9s %9s%n", "", "count", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        appendRows(text, journeys);
+        appendRows(text, pages);
+        return text.toString();
+    }
+
+    private static void appendRows(StringBuilder text, Map<String, LatencyHistogram> histograms) {
+        new TreeMap<>(histograms).forEach((name, histogram) -> {
+            Map<String, Object> stats = histogram.summary();
+            text.append(String.format("%-48s %7d %9.1f %9.1f %9.1f %9.1f%n", name, (Integer) stats.get("count"),
+                    (Double) stats.get("p50Ms"), (Double) stats.get("p95Ms"), (Double) stats.get("p99Ms"), (Double) stats.get("maxMs")));
+        });
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summaries = new TreeMap<>();
+        histograms.forEach((name, histogram) -> summaries.put(name, histogram.summary()));
+        return summaries;
+    }
+
+    private double perSecond(long count) {
+        return elapsed.isZero() ? 0 : count * 1e9 / elapsed.toNanos();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.locators;
+
+import org.openqa.selenium.By;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites XPath locators into an equivalent {@link By#id} or {@link By#cssSelector}, which
+ * browsers resolve natively instead of through the XPath engine.
+ * <p>
+ * Only a subset with an exact CSS counterpart is rewritten: {@code //} and {@code /} steps
+ * over element names or {@code *}, each with predicates joined by {@code and} that test
+ * attributes ({@code @a}, {@code @a='v'}, {@code contains(@a,'v')},
+ * {@code starts-with(@a,'v')} with a non-empty {@code v}). Anything else - text matches, positions, {@code or},
+ * axes, functions - has no CSS equivalent and is left alone. Names must be lower case: CSS
+ * matches HTML element and attribute names case-insensitively, XPath does not.
+ */
+final class LocatorRewriter {
+
+    private static final Pattern BY_ID = Pattern.compile("//\\*\\[\\s*@id\\s*=\\s*(['\"])([^'\"]*)\\1\\s*]");
+    private static final Pattern NAME = Pattern.compile("\\*|[a-z][a-z0-9-]*");
+    private static final Pattern ATTRIBUTE = Pattern.compile("@([a-z][a-z0-9_-]*)");
+    private static final Pattern FUNCTION = Pattern.compile("(contains|starts-with)\\(\\s*@([a-z][a-z0-9_-]*)\\s*,\\s*");
+    private static final Pattern IDENTIFIER = Pattern.compile("-?[_A-Za-z][\\w-]*");
+    private static final String XPATH_PREFIX = "By.xpath: ";
+
+    private final String xpath;
+    private int position;
+
+    private LocatorRewriter(String xpath) {
+        this.xpath = xpath;
+    }
+
+    /**
+     * The id or CSS form of {@code locator}, or {@code null} when it is not an XPath or
+     * cannot be expressed without changing what it matches.
+     */
+    static By rewrite(By locator) {
+        String description = locator.toString();
+        if (!description.startsWith(XPATH_PREFIX)) {
+            return null;
+        }
+        String xpath = description.substring(XPATH_PREFIX.length()).trim();
+        Matcher byId = BY_ID.matcher(xpath);
+        if (byId.matches()) {
+            return By.id(byId.group(2));
+        }
+        String css = new LocatorRewriter(xpath).css();
+        return css == null ? null : By.cssSelector(css);
+    }
+
+    private String css() {
+        if (!xpath.startsWith("//")) {
+            return null;
+        }
+        StringBuilder css = new StringBuilder();
+        position = 2;
+        while (true) {
+            String step = step();
+            if (step == null) {
+                return null;
+            }
+            css.append(step);
+            if (position == xpath.length()) {
+                return css.toString();
+            }
+            if (xpath.startsWith("//", position)) {
+                css.append(' ');
+                position += 2;
+            } else if (xpath.startsWith("/", position)) {
+                css.append(" > ");
+                position += 1;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private String step() {
+        Matcher name = NAME.matcher(xpath).region(position, xpath.length());
+        if (!name.lookingAt()) {
+            return null;
+        }
+        position = name.end();
+        StringBuilder step = new StringBuilder("*".equals(name.group()) ? "" : name.group());
+        while (xpath.startsWith("[", position)) {
+            position++;
+            do {
+                skipSpaces();
+                String condition = condition();
+                if (condition == null) {
+                    return null;
+                }
+                step.append(condition);
+                skipSpaces();
+            } while (keyword("and"));
+            if (!xpath.startsWith("]", position)) {
+                return null;
+            }
+            position++;
+        }
+        return step.isEmpty() ? "*" : step.toString();
+    }
+
+    private String condition() {
+        Matcher function = FUNCTION.matcher(xpath).region(position, xpath.length());
+        if (function.lookingAt()) {
+            position = function.end();
+            String value = literal();
+            skipSpaces();
+            // contains(@a, '') holds for any value, CSS [a*=''] for none.
+            if (value == null || value.isEmpty() || !xpath.startsWith(")", position)) {
+                return null;
+            }
+            position++;
+            String operator = "contains".equals(function.group(1)) ? "*=" : "^=";
+            return "[" + function.group(2) + operator + quote(value) + "]";
+        }
+        Matcher attribute = ATTRIBUTE.matcher(xpath).region(position, xpath.length());
+        if (!attribute.lookingAt()) {
+            return null;
+        }
+        position = attribute.end();
+        String name = attribute.group(1);
+        skipSpaces();
+        if (!xpath.startsWith("=", position)) {
+            return xpath.startsWith("]", position) || xpath.startsWith("and", position) ? "[" + name + "]" : null;
+        }
+        position++;
+        skipSpaces();
+        String value = literal();
+        if (value == null) {
+            return null;
+        }
+        if ("id".equals(name) && IDENTIFIER.matcher(value).matches()) {
+            return "#" + value;
+        }
+        return "[" + name + "=" + quote(value) + "]";
+    }
+
+    private String literal() {
+        if (position >= xpath.length()) {
+            return null;
+        }
+        char quote = xpath.charAt(position);
+        if (quote != '\'' && quote != '"') {
+            return null;
+        }
+        int end = xpath.indexOf(quote, position + 1);
+        if (end < 0) {
+            return null;
+        }
+        String value = xpath.substring(position + 1, end);
+        position = end + 1;
+        return value;
+    }
+
+    private boolean keyword(String word) {
+        if (xpath.startsWith(word, position) && position + word.length() < xpath.length()
+                && Character.isWhitespace(xpath.charAt(position + word.length()))) {
+            position += word.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipSpaces() {
+        while (position < xpath.length() && Character.isWhitespace(xpath.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
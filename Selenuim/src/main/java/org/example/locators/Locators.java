@@ -0,0 +1,240 @@
+package org.example.locators;
+
+import org.example.config.Config;
+import org.example.metrics.LatencyHistogram;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the locators the page objects use.
+ * <ul>
+ *     <li>{@code locators.optimize} - replace XPaths that have an exact id or CSS equivalent
+ *     with it (default {@code true}, see {@link LocatorRewriter})</li>
+ *     <li>{@code locators.report} - after every successful lookup, time one
+ *     {@code findElements} for the locator and count what it matched, and write
+ *     {@code locators.output} (default {@value #DEFAULT_OUTPUT}) at the end of the suite
+ *     (default {@code false})</li>
+ * </ul>
+ * Timing the lookup itself would measure how long the page took to render; the extra
+ * {@code findElements} measures only what the selector costs the browser. It goes to the
+ * undecorated driver, so it does not show up in command metrics, traces or failure logs.
+ * The report ranks locators by that cost and separately by fragility: XPath, text or
+ * position matches, inline styles, exact class lists, very long selectors, and locators that
+ * matched several elements or none.
+ */
+public final class Locators {
+
+    public static final String OPTIMIZE_PROPERTY = "locators.optimize";
+    public static final String REPORT_PROPERTY = "locators.report";
+    public static final String OUTPUT_PROPERTY = "locators.output";
+    public static final String DEFAULT_OUTPUT = "target/locator-report.json";
+
+    private static final boolean OPTIMIZE = Config.flag(OPTIMIZE_PROPERTY, true);
+    private static final boolean REPORT = Config.flag(REPORT_PROPERTY, false);
+    private static final int LONG_SELECTOR = 100;
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final Map<String, By> EFFECTIVE = new ConcurrentHashMap<>();
+
+    private Locators() {
+    }
+
+    public static boolean reporting() {
+        return REPORT;
+    }
+
+    /**
+     * The locator to use in place of {@code locator}: its id/CSS rewrite when there is one and
+     * {@code locators.optimize} is on, else {@code locator} itself.
+     *
+     * @param owner who uses it, e.g. the page object class, listed in the report
+     */
+    public static By register(String owner, By locator) {
+        By effective = EFFECTIVE.computeIfAbsent(locator.toString(), ignored -> {
+            By rewritten = OPTIMIZE ? LocatorRewriter.rewrite(locator) : null;
+            return rewritten == null ? locator : rewritten;
+        });
+        if (REPORT) {
+            ENTRIES.computeIfAbsent(effective.toString(), ignored -> new Entry(locator, effective)).owners.add(owner);
+        }
+        return effective;
+    }
+
+    /**
+     * Runs {@code lookup} for a registered locator. When reporting, a successful lookup is
+     * followed by one timed {@code findElements} in {@code context} that measures the
+     * locator's cost and match count.
+     */
+    public static <T> T resolve(SearchContext context, By locator, Supplier<T> lookup) {
+        T result = lookup.get();
+        Entry entry = REPORT ? ENTRIES.get(locator.toString()) : null;
+        if (entry != null) {
+            SearchContext undecorated = context instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : context;
+            long start = System.nanoTime();
+            try {
+                int matches = undecorated.findElements(locator).size();
+                entry.resolutions.record(System.nanoTime() - start);
+                entry.matched(matches);
+            } catch (WebDriverException e) {
+                // The page moved on; measure on the next lookup.
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the report and returns its path, or {@code null} when reporting is off.
+     */
+    public static Path export() {
+        if (!REPORT) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>(ENTRIES.values());
+        entries.sort(Comparator.comparingLong((Entry entry) -> entry.resolutions.totalNanos()).reversed());
+        List<Map<String, Object>> byCost = new ArrayList<>();
+        for (Entry entry : entries) {
+            byCost.add(entry.toMap());
+        }
+        List<Map<String, Object>> fragile = new ArrayList<>();
+        entries.stream()
+                .filter(entry -> !entry.fragility().isEmpty())
+                .sorted(Comparator.comparingInt((Entry entry) -> entry.fragility().size()).reversed())
+                .forEach(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("locator", entry.effective.toString());
+                    row.put("owners", List.copyOf(entry.owners));
+                    row.put("reasons", entry.fragility());
+                    fragile.add(row);
+                });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("byCost", byCost);
+        report.put("fragile", fragile);
+        Path output = Path.of(Config.string(OUTPUT_PROPERTY, DEFAULT_OUTPUT));
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(output, new Json().toJson(report));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the locator report to " + output, e);
+        }
+        return output;
+    }
+
+    /**
+     * One line per locator that matched more than one element, for the console.
+     */
+    public static List<String> ambiguous() {
+        List<String> lines = new ArrayList<>();
+        for (Entry entry : ENTRIES.values()) {
+            if (entry.matches > 1) {
+                lines.add(entry.effective + " matched " + entry.matches + " elements (" + String.join(", ", entry.owners) + ")");
+            }
+        }
+        return lines;
+    }
+
+    private static final class Entry {
+        final By original;
+        final By effective;
+        final Set<String> owners = new ConcurrentSkipListSet<>();
+        final TimedHistogram resolutions = new TimedHistogram();
+        // Most elements any measurement matched, -1 before the first one
+        volatile int matches = -1;
+
+        Entry(By original, By effective) {
+            this.original = original;
+            this.effective = effective;
+        }
+
+        synchronized void matched(int count) {
+            matches = Math.max(matches, count);
+        }
+
+        List<String> fragility() {
+            String selector = effective.toString();
+            List<String> reasons = new ArrayList<>();
+            if (selector.startsWith("By.xpath: ")) {
+                reasons.add("XPath with no CSS equivalent");
+                if (selector.contains("text()") || selector.contains("normalize-space")) {
+                    reasons.add("matches on text");
+                }
+                if (selector.matches(".*(\\[\\d+]|\\)\\[).*")) {
+                    reasons.add("matches on position");
+                }
+            }
+            if (selector.matches(".*(@style|\\[style).*")) {
+                reasons.add("matches an inline style");
+            }
+            if (selector.matches(".*(@class\\s*=|\\[class=).*")) {
+                reasons.add("matches the exact class list");
+            }
+            if (selector.length() > LONG_SELECTOR) {
+                reasons.add("longer than " + LONG_SELECTOR + " characters");
+            }
+            if (matches > 1) {
+                reasons.add("matched " + matches + " elements");
+            } else if (matches == 0) {
+                reasons.add("matched nothing after a successful lookup");
+            }
+            return reasons;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("locator", effective.toString());
+            if (!effective.equals(original)) {
+                map.put("rewrittenFrom", original.toString());
+            }
+            map.put("owners", List.copyOf(owners));
+            if (matches >= 0) {
+                map.put("matches", matches);
+            }
+            map.put("resolution", resolutions.summary());
+            map.put("fragility", fragility());
+            return map;
+        }
+    }
+
+    /**
+     * A {@link LatencyHistogram} that also keeps its running total for ranking.
+     */
+    private static final class TimedHistogram {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long total;
+
+        synchronized void record(long nanos) {
+            histogram.record(nanos);
+            total += nanos;
+        }
+
+        synchronized long totalNanos() {
+            return total;
+        }
+
+        Map<String, Object> summary() {
+            return histogram.summary();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.metrics;
+
+import org.example.config.Config;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Latency of every driver command, wait and navigation, grouped by the test that issued it.
+ * <p>
+ * Off unless {@code metrics.enabled=true}; when off, no listener is attached to the driver and
+ * waits skip the clock entirely. Commands are recorded against the {@link TestTag} of the
+ * current thread (set by the TestNG listener around each method) and, when they target a
+ * locator, against that locator as well. {@link #export()} writes per-test and aggregate
+ * p50/p95/p99/max summaries to {@code metrics.output} (default {@value #DEFAULT_OUTPUT}).
+ */
+public final class CommandMetrics {
+
+    public static final String ENABLED_PROPERTY = "metrics.enabled";
+    public static final String OUTPUT_PROPERTY = "metrics.output";
+    public static final String DEFAULT_OUTPUT = "target/command-metrics.json";
+
+    private static final boolean ENABLED = Config.flag(ENABLED_PROPERTY, false);
+
+    private static final ThreadLocal<TestTag> CURRENT = new ThreadLocal<>();
+    private static final Map<TestTag, TestMetrics> TESTS = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    public static void enterTest(TestTag tag) {
+        CURRENT.set(tag);
+    }
+
+    public static void exitTest() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records one sample for the current thread's test; {@code locator} may be {@code null}.
+     */
+    public static void record(String operation, String locator, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        TestTag tag = Objects.requireNonNullElse(CURRENT.get(), TestTag.UNTAGGED);
+        TestMetrics metrics = TESTS.computeIfAbsent(tag, ignored -> new TestMetrics());
+        metrics.commands.computeIfAbsent(operation, ignored -> new LatencyHistogram()).record(nanos);
+        if (locator != null) {
+            metrics.locators.computeIfAbsent(locator, ignored -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    /**
+     * Moves everything recorded for {@code from} onto {@code to}, e.g. the commands of a
+     * {@code @BeforeMethod} onto the test it prepared once that test is known.
+     */
+    public static void moveTo(TestTag from, TestTag to) {
+        TestMetrics moved = TESTS.remove(from);
+        if (moved == null) {
+            return;
+        }
+        TestMetrics target = TESTS.computeIfAbsent(to, ignored -> new TestMetrics());
+        merge(moved.commands, target.commands);
+        merge(moved.locators, target.locators);
+    }
+
+    public static <V> V time(String operation, String locator, Supplier<V> body) {
+        if (!ENABLED) {
+            return body.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            record(operation, locator, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes the report and returns its path, or {@code null} when metrics are disabled.
+     */
+    public static Path export() {
+        if (!ENABLED) {
+            return null;
+        }
+        Path output = Path.of(Config.string(OUTPUT_PROPERTY, DEFAULT_OUTPUT));
+        Map<String, LatencyHistogram> aggregateCommands = new TreeMap<>();
+        Map<String, LatencyHistogram> aggregateLocators = new TreeMap<>();
+        List<Map<String, Object>> tests = new ArrayList<>();
+
+        List<Map.Entry<TestTag, TestMetrics>> entries = new ArrayList<>(TESTS.entrySet());
+        entries.sort(Comparator.comparing((Map.Entry<TestTag, TestMetrics> e) -> e.getKey().testClass())
+                .thenComparing(e -> e.getKey().method())
+                .thenComparing(e -> Objects.requireNonNullElse(e.getKey().row(), "")));
+        for (Map.Entry<TestTag, TestMetrics> entry : entries) {
+            TestTag tag = entry.getKey();
+            TestMetrics metrics = entry.getValue();
+            Map<String, Object> test = new LinkedHashMap<>();
+            test.put("class", tag.testClass());
+            test.put("method", tag.method());
+            if (tag.row() != null) {
+                test.put("row", tag.row());
+            }
+            test.put("commands", summaries(metrics.commands));
+            test.put("locators", summaries(metrics.locators));
+            tests.add(test);
+            merge(metrics.commands, aggregateCommands);
+            merge(metrics.locators, aggregateLocators);
+        }
+
+        Map<String, Object> aggregate = new LinkedHashMap<>();
+        aggregate.put("commands", summaries(aggregateCommands));
+        aggregate.put("locators", summaries(aggregateLocators));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("aggregate", aggregate);
+        report.put("tests", tests);
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(output, new Json().toJson(report));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write command metrics to " + output, e);
+        }
+        return output;
+    }
+
+    public static void reset() {
+        TESTS.clear();
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summaries = new TreeMap<>();
+        histograms.forEach((name, histogram) -> summaries.put(name, histogram.summary()));
+        return summaries;
+    }
+
+    private static void merge(Map<String, LatencyHistogram> from, Map<String, LatencyHistogram> into) {
+        from.forEach((name, histogram) -> into.computeIfAbsent(name, ignored -> new LatencyHistogram()).addAll(histogram));
+    }
+
+    private static final class TestMetrics {
+        final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+        final Map<String, LatencyHistogram> locators = new ConcurrentHashMap<>();
+    }
+}
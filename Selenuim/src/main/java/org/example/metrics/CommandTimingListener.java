@@ -0,0 +1,55 @@
+package org.example.metrics;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Times every call made through an {@link org.openqa.selenium.support.events.EventFiringDecorator}
+ * - driver, element, navigation and options calls alike - and reports it to
+ * {@link CommandMetrics} as {@code Interface.method}, e.g. {@code WebDriver.get} or
+ * {@code WebElement.click}. A {@link By} argument is recorded as the locator.
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args);
+    }
+
+    private void finish(Method method, Object[] args) {
+        Long start = starts.get().poll();
+        if (start == null) {
+            return;
+        }
+        CommandMetrics.record(method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                locatorOf(args), System.nanoTime() - start);
+    }
+
+    private static String locatorOf(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof By locator) {
+                    return locator.toString();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Raw latency samples for one operation. Recording is an array append; percentiles are
+ * computed (nearest rank) only when the summary is exported.
+ */
+public final class LatencyHistogram {
+
+    private long[] samples = new long[32];
+    private int count;
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public void addAll(LatencyHistogram other) {
+        long[] copy;
+        synchronized (other) {
+            copy = Arrays.copyOf(other.samples, other.count);
+        }
+        for (long sample : copy) {
+            record(sample);
+        }
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * {@code count}, {@code totalMs}, {@code p50Ms}, {@code p95Ms}, {@code p99Ms} and {@code maxMs}.
+     */
+    public Map<String, Object> summary() {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", sorted.length);
+        summary.put("totalMs", millis(total));
+        summary.put("p50Ms", millis(percentile(sorted, 50)));
+        summary.put("p95Ms", millis(percentile(sorted, 95)));
+        summary.put("p99Ms", millis(percentile(sorted, 99)));
+        summary.put("maxMs", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
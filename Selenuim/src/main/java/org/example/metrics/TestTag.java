@@ -0,0 +1,13 @@
+package org.example.metrics;
+
+/**
+ * Identifies what a recorded command belongs to: the test class, the test or configuration
+ * method and, for data-driven tests, the data-provider row ({@code null} otherwise).
+ */
+public record TestTag(String testClass, String method, String row) {
+
+    /**
+     * Commands issued outside any test method, e.g. pool shutdown.
+     */
+    public static final TestTag UNTAGGED = new TestTag("(none)", "(none)", null);
+}
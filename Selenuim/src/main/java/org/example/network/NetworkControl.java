@@ -0,0 +1,328 @@
+package org.example.network;
+
+import org.example.config.Config;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.TestTag;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.AddInterceptParameters;
+import org.openqa.selenium.bidi.network.BaseParameters;
+import org.openqa.selenium.bidi.network.BeforeRequestSent;
+import org.openqa.selenium.bidi.network.ContinueRequestParameters;
+import org.openqa.selenium.bidi.network.InterceptPhase;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request blocking and per-page request metrics over WebDriver BiDi.
+ * <ul>
+ *     <li>{@code network.block} - {@link ResourceClass resource classes} to fail before they
+ *     are sent, e.g. {@code images,fonts,analytics} (default: none)</li>
+ *     <li>{@code network.metrics} - count requests, bytes and durations per page and test
+ *     (default {@code false})</li>
+ *     <li>{@code network.output} - report location (default {@value #DEFAULT_OUTPUT})</li>
+ * </ul>
+ * Off unless one of the first two is set; BiDi is then requested when the session is created
+ * and a {@link Network} module is attached to it. Blocking applies to every lease of a
+ * session unless the test lifts it with {@link #allow(WebDriver, ResourceClass...)}; the
+ * defaults are restored by {@link #restoreDefaults(WebDriver)} when the session is next
+ * leased. Requests are attributed to the last document loaded in their tab.
+ */
+public final class NetworkControl {
+
+    public static final String BLOCK_PROPERTY = "network.block";
+    public static final String METRICS_PROPERTY = "network.metrics";
+    public static final String OUTPUT_PROPERTY = "network.output";
+    public static final String DEFAULT_OUTPUT = "target/network-metrics.json";
+
+    private static final Set<ResourceClass> DEFAULT_BLOCKED = ResourceClass.parse(Config.string(BLOCK_PROPERTY, ""));
+    private static final boolean METRICS = Config.flag(METRICS_PROPERTY, false);
+
+    private static final ThreadLocal<TestTag> CURRENT = new ThreadLocal<>();
+    private static final Map<WebDriver, Session> SESSIONS = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Map<TestTag, Map<String, PageTraffic>> TRAFFIC = new ConcurrentHashMap<>();
+
+    private NetworkControl() {
+    }
+
+    public static boolean enabled() {
+        return METRICS || !DEFAULT_BLOCKED.isEmpty();
+    }
+
+    /**
+     * Asks for a BiDi connection on the session about to be created.
+     */
+    public static void configure(MutableCapabilities options) {
+        if (enabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+    }
+
+    /**
+     * Subscribes to the network events of {@code browser} (the undecorated session).
+     * {@code handle} is the driver object tests will pass to the other methods.
+     */
+    public static void attach(WebDriver browser, WebDriver handle) {
+        if (!enabled()) {
+            return;
+        }
+        Network network = new Network(browser);
+        Session session = new Session(network);
+        if (!DEFAULT_BLOCKED.isEmpty()) {
+            network.addIntercept(new AddInterceptParameters(InterceptPhase.BEFORE_REQUEST_SENT));
+        }
+        network.onBeforeRequestSent(session::beforeRequestSent);
+        network.onResponseCompleted(event -> session.completed(event, event.getResponseData().getBytesReceived(), false));
+        network.onFetchError(event -> session.completed(event, 0, true));
+        SESSIONS.put(handle, session);
+    }
+
+    /**
+     * Stops tracking a session that is being quit.
+     */
+    public static void detach(WebDriver handle) {
+        Session session = SESSIONS.remove(handle);
+        if (session != null) {
+            try {
+                session.network.close();
+            } catch (WebDriverException e) {
+                System.err.println("Ignoring error while closing BiDi network module: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lets {@code classes} through for the rest of the current lease of {@code driver}.
+     */
+    public static void allow(WebDriver driver, ResourceClass... classes) {
+        Session session = SESSIONS.get(driver);
+        if (session != null) {
+            Set<ResourceClass> blocked = EnumSet.noneOf(ResourceClass.class);
+            blocked.addAll(session.blocked);
+            List.of(classes).forEach(blocked::remove);
+            session.blocked = blocked.isEmpty() ? Set.of() : blocked;
+        }
+    }
+
+    /**
+     * Re-applies {@code network.block} and attributes the session's requests to the current
+     * thread's test.
+     */
+    public static void restoreDefaults(WebDriver driver) {
+        Session session = SESSIONS.get(driver);
+        if (session != null) {
+            session.blocked = DEFAULT_BLOCKED;
+            session.test = Objects.requireNonNullElse(CURRENT.get(), TestTag.UNTAGGED);
+        }
+    }
+
+    /**
+     * Attributes requests to {@code tag} from now on: those of {@code driver} (the session the
+     * thread already holds, or {@code null}) and those of any session leased by this thread.
+     */
+    public static void enterTest(WebDriver driver, TestTag tag) {
+        CURRENT.set(tag);
+        Session session = driver == null ? null : SESSIONS.get(driver);
+        if (session != null) {
+            session.test = tag;
+        }
+    }
+
+    public static void exitTest() {
+        CURRENT.remove();
+    }
+
+    /**
+     * One line per page the test loaded: requests, blocked and failed requests, bytes and p95
+     * duration. Empty when metrics are off.
+     */
+    public static List<String> summary(TestTag tag) {
+        Map<String, PageTraffic> pages = TRAFFIC.get(tag);
+        if (!METRICS || pages == null) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>();
+        new TreeMap<>(pages).forEach((page, traffic) -> lines.add(page + ": " + traffic.requests + " requests ("
+                + traffic.blocked + " blocked, " + traffic.failed + " failed), " + traffic.bytes + " bytes, p95 "
+                + traffic.durations.summary().get("p95Ms") + " ms"));
+        return lines;
+    }
+
+    /**
+     * Writes the report and returns its path, or {@code null} when metrics are off.
+     */
+    public static Path export() {
+        if (!METRICS) {
+            return null;
+        }
+        Path output = Path.of(Config.string(OUTPUT_PROPERTY, DEFAULT_OUTPUT));
+        Map<String, PageTraffic> aggregate = new TreeMap<>();
+        List<Map<String, Object>> tests = new ArrayList<>();
+
+        List<Map.Entry<TestTag, Map<String, PageTraffic>>> entries = new ArrayList<>(TRAFFIC.entrySet());
+        entries.sort(Comparator.comparing((Map.Entry<TestTag, Map<String, PageTraffic>> e) -> e.getKey().testClass())
+                .thenComparing(e -> e.getKey().method())
+                .thenComparing(e -> Objects.requireNonNullElse(e.getKey().row(), "")));
+        for (Map.Entry<TestTag, Map<String, PageTraffic>> entry : entries) {
+            TestTag tag = entry.getKey();
+            Map<String, Object> test = new LinkedHashMap<>();
+            test.put("class", tag.testClass());
+            test.put("method", tag.method());
+            if (tag.row() != null) {
+                test.put("row", tag.row());
+            }
+            Map<String, Object> pages = new TreeMap<>();
+            entry.getValue().forEach((page, traffic) -> {
+                pages.put(page, traffic.toMap());
+                aggregate.computeIfAbsent(page, ignored -> new PageTraffic()).addAll(traffic);
+            });
+            test.put("pages", pages);
+            tests.add(test);
+        }
+
+        Map<String, Object> pages = new TreeMap<>();
+        aggregate.forEach((page, traffic) -> pages.put(page, traffic.toMap()));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("blocked", DEFAULT_BLOCKED.stream().map(Enum::name).toList());
+        report.put("pages", pages);
+        report.put("tests", tests);
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(output, new Json().toJson(report));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write network metrics to " + output, e);
+        }
+        return output;
+    }
+
+    private static URI uri(String url) {
+        try {
+            return URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String pageOf(String url) {
+        URI uri = uri(url);
+        String path = uri == null ? null : uri.getPath();
+        if (path == null || path.isEmpty() || path.endsWith("/")) {
+            return "/";
+        }
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static final class Session {
+        private final Network network;
+        private final Map<String, String> pageByContext = new ConcurrentHashMap<>();
+        private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+        private volatile Set<ResourceClass> blocked = DEFAULT_BLOCKED;
+        private volatile TestTag test = TestTag.UNTAGGED;
+
+        private Session(Network network) {
+            this.network = network;
+        }
+
+        private void beforeRequestSent(BeforeRequestSent event) {
+            String requestId = event.getRequest().getRequestId();
+            String url = event.getRequest().getUrl();
+            if (event.getNavigationId() != null && url.startsWith("http")) {
+                pageByContext.put(event.getBrowsingContextId(), pageOf(url));
+            }
+            if (!event.isBlocked()) {
+                startedAt.put(requestId, event.getTimestamp());
+                return;
+            }
+            // Only our own intercept pauses requests, so every paused request is answered here
+            if (isBlocked(url)) {
+                network.failRequest(requestId);
+                if (METRICS) {
+                    traffic(event).blocked.incrementAndGet();
+                }
+            } else {
+                startedAt.put(requestId, event.getTimestamp());
+                network.continueRequest(new ContinueRequestParameters(requestId));
+            }
+        }
+
+        private void completed(BaseParameters event, long bytes, boolean failed) {
+            Long started = startedAt.remove(event.getRequest().getRequestId());
+            if (!METRICS || started == null) {
+                return;
+            }
+            PageTraffic traffic = traffic(event);
+            traffic.requests.incrementAndGet();
+            traffic.bytes.addAndGet(bytes);
+            if (failed) {
+                traffic.failed.incrementAndGet();
+            }
+            traffic.durations.record(Math.max(0, event.getTimestamp() - started) * 1_000_000);
+        }
+
+        private boolean isBlocked(String url) {
+            Set<ResourceClass> classes = blocked;
+            if (classes.isEmpty() || !url.startsWith("http")) {
+                return false;
+            }
+            URI uri = uri(url);
+            return uri != null && classes.stream().anyMatch(resourceClass -> resourceClass.matches(uri));
+        }
+
+        private PageTraffic traffic(BaseParameters event) {
+            String page = pageByContext.getOrDefault(event.getBrowsingContextId(), "(unknown)");
+            return TRAFFIC.computeIfAbsent(test, ignored -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(page, ignored -> new PageTraffic());
+        }
+    }
+
+    private static final class PageTraffic {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong blocked = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final LatencyHistogram durations = new LatencyHistogram();
+
+        private void addAll(PageTraffic other) {
+            requests.addAndGet(other.requests.get());
+            blocked.addAndGet(other.blocked.get());
+            failed.addAndGet(other.failed.get());
+            bytes.addAndGet(other.bytes.get());
+            durations.addAll(other.durations);
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", requests.get());
+            map.put("blocked", blocked.get());
+            map.put("failed", failed.get());
+            map.put("bytes", bytes.get());
+            map.put("duration", durations.summary());
+            return map;
+        }
+    }
+}
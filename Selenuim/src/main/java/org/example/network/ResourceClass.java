@@ -0,0 +1,59 @@
+package org.example.network;
+
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Kinds of sub-resource that {@link NetworkControl} can block, recognised from the request URL
+ * alone (BiDi does not report the resource type before a request is sent).
+ */
+public enum ResourceClass {
+
+    IMAGES(Set.of("png", "jpg", "jpeg", "gif", "svg", "webp", "avif", "ico", "bmp"), Set.of()),
+    FONTS(Set.of("woff", "woff2", "ttf", "otf", "eot"), Set.of()),
+    MEDIA(Set.of("mp4", "webm", "ogg", "mp3", "wav", "m4a"), Set.of()),
+    ANALYTICS(Set.of(), Set.of("google-analytics.com", "googletagmanager.com", "doubleclick.net",
+            "segment.io", "segment.com", "hotjar.com", "optimizely.com", "backtrace.io", "nr-data.net",
+            "newrelic.com", "sentry.io", "pendo.io", "fullstory.com", "mixpanel.com"));
+
+    private final Set<String> extensions;
+    private final Set<String> hosts;
+
+    ResourceClass(Set<String> extensions, Set<String> hosts) {
+        this.extensions = extensions;
+        this.hosts = hosts;
+    }
+
+    public boolean matches(URI uri) {
+        String host = uri.getHost();
+        if (host != null) {
+            String lower = host.toLowerCase(Locale.ROOT);
+            for (String blocked : hosts) {
+                if (lower.equals(blocked) || lower.endsWith("." + blocked)) {
+                    return true;
+                }
+            }
+        }
+        String path = uri.getPath();
+        if (path == null) {
+            return false;
+        }
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && extensions.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code images,fonts,analytics}; blank means none.
+     */
+    public static Set<ResourceClass> parse(String list) {
+        Set<ResourceClass> classes = EnumSet.noneOf(ResourceClass.class);
+        for (String name : list.split(",")) {
+            if (!name.isBlank()) {
+                classes.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * A page behind the login, with the burger menu and the cart link in its header.
+ */
+public abstract class AppPage extends Page {
+
+    /**
+     * The item count on the cart icon; only rendered while the cart is not empty.
+     */
+    public static final By CART_BADGE = By.className("shopping_cart_badge");
+
+    private final ElementHandle menuButton = located(By.cssSelector(".bm-burger-button button"));
+    private final ElementHandle logoutLink = clickable(By.id("logout_sidebar_link"));
+    private final ElementHandle cartLink = clickable(By.className("shopping_cart_link"));
+    private final ElementHandle cartBadge = visible(CART_BADGE);
+
+    protected AppPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    public LoginPage logout() {
+        menuButton.click();
+        logoutLink.click();
+        return new LoginPage(driver, wait);
+    }
+
+    public CartPage openCart() {
+        cartLink.click();
+        return new CartPage(driver, wait);
+    }
+
+    /**
+     * The cart badge, waiting for it to show. The badge is removed when the cart empties and
+     * rendered anew when it fills, which the handle follows.
+     */
+    public WebElement cartBadge() {
+        return cartBadge;
+    }
+
+    public boolean isCartBadgeShowing() {
+        return isShowing(CART_BADGE);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.pages;
+
+import org.example.extract.InventoryExtractor;
+import org.example.extract.InventoryItem;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.List;
+
+/**
+ * cart.html.
+ */
+public class CartPage extends AppPage {
+
+    /**
+     * One line of the cart; there are none while it is empty.
+     */
+    public static final By CART_ITEM = By.className("cart_item");
+
+    private static final By CHECKOUT_BUTTON = By.className("checkout_button");
+
+    private final ElementHandle checkoutButton = clickable(CHECKOUT_BUTTON);
+
+    public CartPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isShowing(CHECKOUT_BUTTON);
+    }
+
+    /**
+     * Every line in display order, read in one round trip once the first has rendered.
+     * Use {@link #CART_ITEM} with {@link org.example.wait.Absence} to check for an empty cart.
+     */
+    public List<InventoryItem> items() {
+        waitForVisible(CART_ITEM);
+        return InventoryExtractor.cart(driver);
+    }
+
+    public CheckoutInformationPage checkout() {
+        checkoutButton.click();
+        return new CheckoutInformationPage(driver, wait);
+    }
+}
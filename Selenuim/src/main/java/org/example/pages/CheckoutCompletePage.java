@@ -0,0 +1,34 @@
+package org.example.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * checkout-complete.html, the order confirmation.
+ */
+public class CheckoutCompletePage extends AppPage {
+
+    private static final By HEADER = By.className("complete-header");
+
+    private final ElementHandle header = visible(HEADER);
+    private final ElementHandle text = visible(By.className("complete-text"));
+
+    public CheckoutCompletePage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isShowing(HEADER);
+    }
+
+    public WebElement header() {
+        return header;
+    }
+
+    public WebElement text() {
+        return text;
+    }
+}
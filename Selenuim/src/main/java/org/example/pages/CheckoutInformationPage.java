@@ -0,0 +1,74 @@
+package org.example.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * checkout-step-one.html, the shipping information form.
+ */
+public class CheckoutInformationPage extends AppPage {
+
+    private static final By FIRST_NAME = By.id("first-name");
+
+    private final ElementHandle firstName = visible(FIRST_NAME);
+    private final ElementHandle lastName = visible(By.id("last-name"));
+    private final ElementHandle postalCode = visible(By.id("postal-code"));
+    private final ElementHandle continueButton = clickable(By.cssSelector("input.cart_button"));
+    private final ElementHandle cancelButton = clickable(By.className("cart_cancel_link"));
+    private final ElementHandle errorMessage = visible(By.cssSelector("h3[data-test='error']"));
+
+    public CheckoutInformationPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isShowing(FIRST_NAME);
+    }
+
+    /**
+     * Types the given values, leaving fields with a {@code null} or empty value untouched.
+     */
+    public CheckoutInformationPage fill(String first, String last, String postal) {
+        type(firstName, first);
+        type(lastName, last);
+        type(postalCode, postal);
+        return this;
+    }
+
+    /**
+     * Submits the form, staying on this page object (e.g. to read the error).
+     */
+    public CheckoutInformationPage submit() {
+        continueButton.click();
+        return this;
+    }
+
+    /**
+     * Submits the form expecting to land on the order overview.
+     */
+    public CheckoutOverviewPage continueToOverview() {
+        submit();
+        return new CheckoutOverviewPage(driver, wait);
+    }
+
+    public CartPage cancel() {
+        cancelButton.click();
+        return new CartPage(driver, wait);
+    }
+
+    /**
+     * The validation error shown above the form, waiting for it to show.
+     */
+    public WebElement errorMessage() {
+        return errorMessage;
+    }
+
+    private static void type(ElementHandle field, String value) {
+        if (value != null && !value.isEmpty()) {
+            field.sendKeys(value);
+        }
+    }
+}
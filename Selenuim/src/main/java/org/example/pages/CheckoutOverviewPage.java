@@ -0,0 +1,66 @@
+package org.example.pages;
+
+import org.example.extract.InventoryExtractor;
+import org.example.extract.InventoryItem;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.List;
+
+/**
+ * checkout-step-two.html, the order overview.
+ */
+public class CheckoutOverviewPage extends AppPage {
+
+    private static final By FINISH_BUTTON = By.cssSelector("a.btn_action.cart_button");
+
+    private final ElementHandle finishButton = clickable(FINISH_BUTTON);
+    private final ElementHandle cancelButton = clickable(By.className("cart_cancel_link"));
+    private final ElementHandle subtotal = visible(By.className("summary_subtotal_label"));
+    private final ElementHandle tax = visible(By.className("summary_tax_label"));
+    private final ElementHandle total = visible(By.className("summary_total_label"));
+
+    public CheckoutOverviewPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isShowing(FINISH_BUTTON);
+    }
+
+    /**
+     * The ordered line items in one round trip once the first has rendered.
+     */
+    public List<InventoryItem> items() {
+        waitForVisible(CartPage.CART_ITEM);
+        return InventoryExtractor.cart(driver);
+    }
+
+    public WebElement subtotal() {
+        return subtotal;
+    }
+
+    public WebElement tax() {
+        return tax;
+    }
+
+    public WebElement total() {
+        return total;
+    }
+
+    public CheckoutCompletePage finish() {
+        finishButton.click();
+        return new CheckoutCompletePage(driver, wait);
+    }
+
+    /**
+     * Leaves checkout; the overview's cancel link goes back to the inventory.
+     */
+    public InventoryPage cancel() {
+        cancelButton.click();
+        return new InventoryPage(driver, wait);
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link WebElement} of a page object that is looked up on first use and then reused, so
+ * calling it again costs one round trip instead of a lookup plus the call.
+ * <p>
+ * When the page has re-rendered the element and a call fails with
+ * {@link StaleElementReferenceException}, the handle looks it up again and repeats the call
+ * once; a second stale failure propagates. Only elements that keep their identity for the
+ * life of the page object belong in a handle: a lookup whose answer changes as the test
+ * clicks (the first ADD TO CART button, the number of cart lines) must be repeated instead.
+ * Like the driver they wrap, handles belong to one test thread.
+ */
+public final class ElementHandle implements WebElement, WrapsElement {
+
+    private final String description;
+    private final Supplier<WebElement> lookup;
+    private WebElement element;
+
+    public ElementHandle(String description, Supplier<WebElement> lookup) {
+        this.description = description;
+        this.lookup = lookup;
+    }
+
+    /**
+     * A handle for the element matching {@code locator} inside this one, looked up without
+     * waiting. If this element has gone stale it is looked up again first.
+     */
+    public ElementHandle child(By locator) {
+        return new ElementHandle(description + " > " + locator, () -> findElement(locator));
+    }
+
+    /**
+     * The cached element, looking it up if this is the first use.
+     */
+    @Override
+    public WebElement getWrappedElement() {
+        if (element == null) {
+            element = lookup.get();
+        }
+        return element;
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(getWrappedElement());
+        } catch (StaleElementReferenceException e) {
+            element = lookup.get();
+            return action.apply(element);
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(element -> element.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(element -> element.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return "ElementHandle(" + description + ")";
+    }
+}
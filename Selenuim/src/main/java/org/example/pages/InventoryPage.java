@@ -0,0 +1,101 @@
+package org.example.pages;
+
+import org.example.extract.InventoryExtractor;
+import org.example.extract.InventoryItem;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * inventory.html, the product list.
+ * <p>
+ * Product cards are looked up by product name once and cached. Their ADD TO CART / REMOVE
+ * button is the same element in both states, so it is looked up by state inside the cached
+ * card on every click rather than cached itself, waiting until it can be clicked. A product
+ * or button that does not show up fails with a {@link org.openqa.selenium.TimeoutException}.
+ */
+public class InventoryPage extends AppPage {
+
+    private static final By INVENTORY_LIST = By.className("inventory_list");
+    private static final By ITEM_NAME = By.className("inventory_item_name");
+    private static final By ADD_BUTTON = By.cssSelector("button.btn_primary.btn_inventory");
+    private static final By REMOVE_BUTTON = By.cssSelector("button.btn_secondary.btn_inventory");
+
+    private final ElementHandle sortDropdown = clickable(By.className("product_sort_container"));
+    private final Map<String, ElementHandle> cards = new HashMap<>();
+
+    public InventoryPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isShowing(INVENTORY_LIST);
+    }
+
+    /**
+     * Every card in display order, read in one round trip once the names have rendered.
+     */
+    public List<InventoryItem> items() {
+        waitForVisible(ITEM_NAME);
+        return InventoryExtractor.inventory(driver);
+    }
+
+    /**
+     * Sorts the list by one of the dropdown values: {@code az}, {@code za}, {@code lohi} or
+     * {@code hilo}.
+     */
+    public InventoryPage sortBy(String value) {
+        sortDropdown.findElement(By.cssSelector("option[value='" + value + "']")).click();
+        return this;
+    }
+
+    public InventoryPage addToCart(String productName) {
+        buttonIn(productName, ADD_BUTTON).click();
+        return this;
+    }
+
+    public InventoryPage removeFromCart(String productName) {
+        buttonIn(productName, REMOVE_BUTTON).click();
+        return this;
+    }
+
+    /**
+     * Adds the first product that is not in the cart yet.
+     */
+    public InventoryPage addFirstAvailableToCart() {
+        clickable(ADD_BUTTON).click();
+        return this;
+    }
+
+    public ItemDetailPage openDetail(String productName) {
+        card(productName).findElement(ITEM_NAME).click();
+        return new ItemDetailPage(driver, wait);
+    }
+
+    private ElementHandle card(String productName) {
+        return cards.computeIfAbsent(productName, name -> visible(By.xpath(
+                "//div[@class='inventory_item'][.//div[@class='inventory_item_name' and text()=" + literal(name) + "]]")));
+    }
+
+    private WebElement buttonIn(String productName, By button) {
+        ElementHandle card = card(productName);
+        // The wait ignores NoSuchElementException, so this retries until the button renders.
+        return wait.until(ignored -> {
+            WebElement found = card.findElement(button);
+            return found.isDisplayed() && found.isEnabled() ? found : null;
+        });
+    }
+
+    private static String literal(String text) {
+        if (!text.contains("'")) {
+            return "'" + text + "'";
+        }
+        return "concat('" + text.replace("'", "', \"'\", '") + "')";
+    }
+}
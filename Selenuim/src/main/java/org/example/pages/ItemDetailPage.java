@@ -0,0 +1,61 @@
+package org.example.pages;
+
+import org.example.extract.InventoryExtractor;
+import org.example.extract.InventoryItem;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * inventory-item.html, the detail page of one product.
+ */
+public class ItemDetailPage extends AppPage {
+
+    private static final By NAME = By.className("inventory_details_name");
+
+    private final ElementHandle name = visible(NAME);
+    private final ElementHandle description = visible(By.className("inventory_details_desc"));
+    private final ElementHandle price = visible(By.className("inventory_details_price"));
+    private final ElementHandle image = visible(By.className("inventory_details_img"));
+    private final ElementHandle backButton = clickable(By.id("back-to-products"));
+
+    public ItemDetailPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isShowing(NAME);
+    }
+
+    /**
+     * Name, price, description and image of the product in one round trip once the name
+     * has rendered.
+     */
+    public InventoryItem details() {
+        waitForVisible(NAME);
+        return InventoryExtractor.detail(driver);
+    }
+
+    public WebElement name() {
+        return name;
+    }
+
+    public WebElement description() {
+        return description;
+    }
+
+    public WebElement price() {
+        return price;
+    }
+
+    public WebElement image() {
+        return image;
+    }
+
+    public InventoryPage backToProducts() {
+        backButton.click();
+        return new InventoryPage(driver, wait);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.pages;
+
+import org.example.config.SwagLabs;
+import org.example.wait.AdaptiveTimeouts;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * index.html, the login form. Tests that only need a logged-in session should use
+ * {@link org.example.session.SessionBootstrap} instead.
+ */
+public class LoginPage extends Page {
+
+    private static final By LOGIN_LOGO = By.className("login_logo");
+    private static final By LOGIN_BUTTON = By.id("login-button");
+
+    private final ElementHandle usernameField = visible(By.id("user-name"));
+    private final ElementHandle passwordField = visible(By.id("password"));
+    private final ElementHandle loginButton = clickable(LOGIN_BUTTON);
+    private final ElementHandle errorMessage = visible(By.cssSelector("h3[data-test='error']"));
+
+    public LoginPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    public LoginPage open() {
+        driver.get(SwagLabs.page("index.html"));
+        return this;
+    }
+
+    /**
+     * Fills in and submits the form, staying on this page object (e.g. to read the error).
+     */
+    public LoginPage submit(String username, String password) {
+        AdaptiveTimeouts.actingAs(username);
+        usernameField.sendKeys(username);
+        passwordField.sendKeys(password);
+        loginButton.click();
+        return this;
+    }
+
+    /**
+     * Submits the form expecting to land on the inventory.
+     */
+    public InventoryPage loginAs(String username, String password) {
+        submit(username, password);
+        return new InventoryPage(driver, wait);
+    }
+
+    /**
+     * The error shown above the form, waiting for it to show.
+     */
+    public WebElement errorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return isShowing(LOGIN_LOGO);
+    }
+
+    /**
+     * Whether the login form is showing once the page has settled. Unlike {@link #isOpen()}
+     * it answers quickly when it is not.
+     */
+    public boolean isFormPresent() {
+        return isPresent(LOGIN_BUTTON);
+    }
+}
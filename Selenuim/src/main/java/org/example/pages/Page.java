@@ -0,0 +1,98 @@
+package org.example.pages;
+
+import org.example.locators.Locators;
+import org.example.wait.Absence;
+import org.example.wait.DomConditions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Base of the Swag Labs page objects. A page object stands for one loaded document: its
+ * {@link ElementHandle}s are created with it, looked up on first use with the page's wait and
+ * cached until the page re-renders them. Actions that load another page return a new page
+ * object for it. Every locator goes through {@link Locators}, which may swap an XPath for an
+ * equivalent CSS selector and reports what each one costs.
+ * <p>
+ * Page objects take the driver and wait explicitly (from
+ * {@link org.example.driver.DriverContext} in tests) so they work with any session. Because
+ * their handles cache elements of that one session, a page object must not be shared between
+ * tests or threads: each test creates its own, typically through a small factory method.
+ */
+public abstract class Page {
+
+    protected final WebDriver driver;
+    protected final WebDriverWait wait;
+
+    protected Page(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+    }
+
+    /**
+     * Whether the page's landmark element is showing, waiting up to the page's timeout for it.
+     */
+    public abstract boolean isOpen();
+
+    /**
+     * A handle for the element matching {@code locator}, waiting until it is visible.
+     */
+    protected ElementHandle visible(By locator) {
+        By registered = register(locator);
+        return new ElementHandle(registered.toString(), () -> waitForVisible(registered));
+    }
+
+    /**
+     * A handle for the element matching {@code locator}, waiting until it can be clicked.
+     */
+    protected ElementHandle clickable(By locator) {
+        By registered = register(locator);
+        return new ElementHandle(registered.toString(), () -> Locators.resolve(driver, registered,
+                () -> wait.until(DomConditions.elementToBeClickable(registered))));
+    }
+
+    /**
+     * A handle for the element matching {@code locator}, looked up without waiting. For
+     * elements that exist once the page has loaded but never count as visible, such as the
+     * transparent button over the burger menu icon.
+     */
+    protected ElementHandle located(By locator) {
+        By registered = register(locator);
+        return new ElementHandle(registered.toString(), () -> Locators.resolve(driver, registered,
+                () -> driver.findElement(registered)));
+    }
+
+    /**
+     * Waits until {@code locator} is visible and returns the element, without caching it.
+     */
+    protected WebElement waitForVisible(By locator) {
+        By registered = register(locator);
+        return Locators.resolve(driver, registered, () -> wait.until(DomConditions.visibilityOfElementLocated(registered)));
+    }
+
+    /**
+     * Waits up to the page's timeout for {@code locator} to become visible.
+     */
+    protected boolean isShowing(By locator) {
+        try {
+            wait.until(DomConditions.visibilityOfElementLocated(register(locator)));
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether {@code locator} is visible once the page has settled, without waiting a full
+     * timeout when it is not (see {@link Absence}).
+     */
+    protected boolean isPresent(By locator) {
+        return !Absence.isAbsent(driver, register(locator));
+    }
+
+    private By register(By locator) {
+        return Locators.register(getClass().getSimpleName(), locator);
+    }
+}
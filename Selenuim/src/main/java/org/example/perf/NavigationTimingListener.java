@@ -0,0 +1,63 @@
+package org.example.perf;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Captures {@link PageTimings} after every call that can load a new document: {@code get},
+ * the {@code navigate()} family, and element clicks and submits (form posts, links). Runs
+ * the capture on the undecorated driver so it is not itself reported as a test command.
+ */
+public class NavigationTimingListener implements WebDriverListener {
+
+    private final WebDriver driver;
+
+    public NavigationTimingListener(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        capture();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        capture();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        capture();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        capture();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        capture();
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        capture();
+    }
+
+    @Override
+    public void afterSubmit(WebElement element) {
+        capture();
+    }
+
+    private void capture() {
+        try {
+            PageTimings.capture(driver);
+        } catch (WebDriverException e) {
+            // An open alert or a document unloading mid-capture; timing is best effort.
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.perf;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load timing of one document as reported by the browser, in milliseconds from navigation
+ * start. {@code metrics} holds whatever the browser exposed out of {@code ttfb},
+ * {@code domInteractive}, {@code domContentLoaded}, {@code load}, {@code firstPaint},
+ * {@code firstContentfulPaint}, {@code longTaskCount} and {@code longTaskTotal}.
+ *
+ * @param page the last path segment, e.g. {@code inventory.html}
+ * @param user the {@code session-username} cookie, or {@code ""} when signed out
+ */
+public record PageTiming(String url, String page, String user, Map<String, Double> metrics) {
+
+    public PageTiming {
+        metrics = Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    static PageTiming fromScript(Map<?, ?> values) {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        ((Map<?, ?>) values.get("metrics")).forEach((name, value) -> {
+            if (value instanceof Number number) {
+                metrics.put(String.valueOf(name), number.doubleValue());
+            }
+        });
+        return new PageTiming(String.valueOf(values.get("url")), String.valueOf(values.get("page")),
+                String.valueOf(values.get("user")), metrics);
+    }
+}
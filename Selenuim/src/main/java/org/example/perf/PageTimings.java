@@ -0,0 +1,272 @@
+package org.example.perf;
+
+import org.example.config.Config;
+import org.example.metrics.LatencyHistogram;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Navigation Timing, Paint Timing and Long Task data for the pages the suite visits, checked
+ * against {@link PerformanceBudgets}.
+ * <p>
+ * {@link #capture(WebDriver)} reads the timing of the current document (recording each
+ * document once however often it is called). With {@code perf.timing=true} the driver calls it
+ * after every navigation; tests can also call it directly and assert with
+ * {@link #assertWithinBudget(PageTiming)}. {@link #export()} writes every timing, per
+ * host/user/page percentiles and budget violations to {@code perf.output}, compares the
+ * medians with the baselines kept in {@code perf.history} and flags metrics that got slower by
+ * more than {@code perf.regressionTolerance} (a fraction, default 0.2).
+ * <p>
+ * Like {@link org.example.schedule.DurationHistory}, the history is merged rather than
+ * replaced: pages this run did not load keep their baselines, and a new median is blended
+ * into the stored one (half each). A median flagged as a regression is not blended in, so a
+ * slow run does not become the baseline that later runs are compared against. Baselines are
+ * kept per host, so runs against the local replica and the live site never compare with each
+ * other.
+ */
+public final class PageTimings {
+
+    public static final String ENABLED_PROPERTY = "perf.timing";
+    public static final String OUTPUT_PROPERTY = "perf.output";
+    public static final String HISTORY_PROPERTY = "perf.history";
+    public static final String TOLERANCE_PROPERTY = "perf.regressionTolerance";
+    public static final String DEFAULT_OUTPUT = "target/page-timings.json";
+
+    private static final boolean ENABLED = Config.flag(ENABLED_PROPERTY, false);
+
+    private static final String CAPTURE_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+                    + "if (!/^https?:/.test(location.protocol)) { done(null); return; }"
+                    + "var metrics = {};"
+                    + "var nav = performance.getEntriesByType ? performance.getEntriesByType('navigation')[0] : null;"
+                    + "if (nav) {"
+                    + "  metrics.ttfb = nav.responseStart;"
+                    + "  metrics.domInteractive = nav.domInteractive;"
+                    + "  metrics.domContentLoaded = nav.domContentLoadedEventEnd;"
+                    + "  if (nav.loadEventEnd > 0) { metrics.load = nav.loadEventEnd; }"
+                    + "} else if (performance.timing) {"
+                    + "  var t = performance.timing, start = t.navigationStart;"
+                    + "  metrics.ttfb = t.responseStart - start;"
+                    + "  metrics.domInteractive = t.domInteractive - start;"
+                    + "  metrics.domContentLoaded = t.domContentLoadedEventEnd - start;"
+                    + "  if (t.loadEventEnd > 0) { metrics.load = t.loadEventEnd - start; }"
+                    + "}"
+                    + "var paints = performance.getEntriesByType ? performance.getEntriesByType('paint') : [];"
+                    + "for (var i = 0; i < paints.length; i++) {"
+                    + "  if (paints[i].name === 'first-paint') { metrics.firstPaint = paints[i].startTime; }"
+                    + "  if (paints[i].name === 'first-contentful-paint') { metrics.firstContentfulPaint = paints[i].startTime; }"
+                    + "}"
+                    + "var user = '';"
+                    + "document.cookie.split(';').forEach(function (part) {"
+                    + "  var pair = part.trim().split('=');"
+                    + "  if (pair[0] === 'session-username') { user = decodeURIComponent(pair.slice(1).join('=')); }"
+                    + "});"
+                    + "var segments = location.pathname.split('/');"
+                    + "var result = { url: location.href, page: segments[segments.length - 1] || '/', user: user,"
+                    + "  origin: String(performance.timeOrigin || performance.timing.navigationStart), metrics: metrics };"
+                    + "var finish = function (tasks) {"
+                    + "  if (tasks) {"
+                    + "    var total = 0;"
+                    + "    for (var j = 0; j < tasks.length; j++) { total += tasks[j].duration; }"
+                    + "    metrics.longTaskCount = tasks.length;"
+                    + "    metrics.longTaskTotal = total;"
+                    + "  }"
+                    + "  done(result);"
+                    + "};"
+                    + "var supported = window.PerformanceObserver && PerformanceObserver.supportedEntryTypes"
+                    + "    && PerformanceObserver.supportedEntryTypes.indexOf('longtask') >= 0;"
+                    + "if (!supported) { finish(null); return; }"
+                    + "var tasks = [];"
+                    + "var observer = new PerformanceObserver(function (list) { tasks = tasks.concat(list.getEntries()); });"
+                    + "observer.observe({ type: 'longtask', buffered: true });"
+                    + "setTimeout(function () { tasks = tasks.concat(observer.takeRecords()); observer.disconnect(); finish(tasks); }, 0);";
+
+    private static final Set<String> SEEN = ConcurrentHashMap.newKeySet();
+    private static final List<PageTiming> TIMINGS = new CopyOnWriteArrayList<>();
+    private static final List<String> VIOLATIONS = new CopyOnWriteArrayList<>();
+
+    private PageTimings() {
+    }
+
+    /**
+     * Whether the driver should capture timings after every navigation.
+     */
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Timing of the document currently loaded in {@code driver}, or {@code null} for
+     * non-HTTP pages such as {@code about:blank}.
+     */
+    public static PageTiming capture(WebDriver driver) {
+        Map<?, ?> values = (Map<?, ?>) ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_SCRIPT);
+        if (values == null) {
+            return null;
+        }
+        PageTiming timing = PageTiming.fromScript(values);
+        if (SEEN.add(values.get("origin") + " " + timing.url())) {
+            TIMINGS.add(timing);
+            VIOLATIONS.addAll(PerformanceBudgets.load().violations(timing));
+        }
+        return timing;
+    }
+
+    public static void assertWithinBudget(PageTiming timing) {
+        if (timing == null) {
+            return;
+        }
+        List<String> violations = PerformanceBudgets.load().violations(timing);
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Performance budget exceeded: " + String.join("; ", violations));
+        }
+    }
+
+    /**
+     * Writes the report, updates the history and returns the regressions found, or an empty
+     * list when nothing was captured.
+     */
+    public static List<String> export() {
+        if (TIMINGS.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Map<String, LatencyHistogram>> byPage = new TreeMap<>();
+        for (PageTiming timing : TIMINGS) {
+            Map<String, LatencyHistogram> metrics = byPage.computeIfAbsent(
+                    hostOf(timing) + "|" + timing.user() + "|" + timing.page(), ignored -> new TreeMap<>());
+            timing.metrics().forEach((metric, value) ->
+                    metrics.computeIfAbsent(metric, ignored -> new LatencyHistogram()).record(Math.round(value * 1_000_000)));
+        }
+
+        Map<String, Object> summaries = new TreeMap<>();
+        Map<String, Double> medians = new TreeMap<>();
+        byPage.forEach((key, metrics) -> {
+            Map<String, Object> summary = new TreeMap<>();
+            metrics.forEach((metric, histogram) -> {
+                Map<String, Object> stats = histogram.summary();
+                summary.put(metric, stats);
+                medians.put(key + "|" + metric, ((Number) stats.get("p50Ms")).doubleValue());
+            });
+            summaries.put(key, summary);
+        });
+
+        Path history = Path.of(Config.string(HISTORY_PROPERTY,
+                Path.of(System.getProperty("user.home"), ".cache", "selenuim", "page-timings-history.json").toString()));
+        Map<String, Double> baselines = readHistory(history);
+        double tolerance = Double.parseDouble(Config.string(TOLERANCE_PROPERTY, "0.2"));
+        List<String> regressions = regressions(baselines, medians, tolerance);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("violations", List.copyOf(VIOLATIONS));
+        report.put("regressions", regressions);
+        report.put("pages", summaries);
+        report.put("timings", TIMINGS.stream().map(PageTimings::asMap).toList());
+        write(Path.of(Config.string(OUTPUT_PROPERTY, DEFAULT_OUTPUT)), report);
+        write(history, merge(baselines, medians, tolerance));
+        return regressions;
+    }
+
+    public static List<String> violations() {
+        return List.copyOf(VIOLATIONS);
+    }
+
+    private static Map<String, Object> asMap(PageTiming timing) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("url", timing.url());
+        map.put("page", timing.page());
+        map.put("user", timing.user());
+        map.put("metrics", timing.metrics());
+        return map;
+    }
+
+    private static String hostOf(PageTiming timing) {
+        try {
+            return Objects.requireNonNullElse(URI.create(timing.url()).getHost(), "local");
+        } catch (IllegalArgumentException e) {
+            return "local";
+        }
+    }
+
+    private static List<String> regressions(Map<String, Double> baselines, Map<String, Double> current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((key, median) -> {
+            Double before = baselines.get(key);
+            if (isRegression(before, median, tolerance)) {
+                String[] parts = key.split("\\|");
+                regressions.add(String.format("%s on %s/%s for %s: median %.0f ms, baseline %.0f ms (+%.0f%%)",
+                        parts[3], parts[0], parts[2], parts[1].isEmpty() ? "anonymous" : parts[1],
+                        median, before, (median / before - 1) * 100));
+            }
+        });
+        return regressions;
+    }
+
+    private static boolean isRegression(Double baseline, double median, double tolerance) {
+        return baseline != null && baseline > 0 && median > baseline * (1 + tolerance);
+    }
+
+    /**
+     * The stored baselines with this run blended in; regressed medians and keys this run did
+     * not measure leave their baseline as it was.
+     */
+    private static Map<String, Double> merge(Map<String, Double> baselines, Map<String, Double> current, double tolerance) {
+        Map<String, Double> merged = new TreeMap<>(baselines);
+        current.forEach((key, median) -> {
+            Double before = baselines.get(key);
+            if (before == null) {
+                merged.put(key, median);
+            } else if (!isRegression(before, median, tolerance)) {
+                merged.put(key, (before + median) / 2);
+            }
+        });
+        return merged;
+    }
+
+    private static Map<String, Double> readHistory(Path history) {
+        if (!Files.isRegularFile(history)) {
+            return Map.of();
+        }
+        try {
+            Map<String, Object> raw = new Json().toType(Files.readString(history), Json.MAP_TYPE);
+            Map<String, Double> medians = new TreeMap<>();
+            raw.forEach((key, value) -> {
+                if (value instanceof Number number) {
+                    medians.put(key, number.doubleValue());
+                }
+            });
+            return medians;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read page timing history from " + history, e);
+        }
+    }
+
+    private static void write(Path path, Object content) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(path, new Json().toJson(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + path, e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.perf;
+
+import org.example.config.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-page, per-user limits on {@link PageTiming} metrics.
+ * <p>
+ * Budgets are read from the file named by {@code perf.budgets}, or from the classpath
+ * {@code perf-budgets.properties}. Keys are {@code <user>.<page>.<metric>} with {@code *}
+ * as a wildcard for the user or page, e.g.
+ * {@code performance_glitch_user.inventory.html.domInteractive=8000}. The most specific key
+ * wins: user and page, then user, then page, then neither.
+ */
+public final class PerformanceBudgets {
+
+    public static final String BUDGETS_PROPERTY = "perf.budgets";
+
+    private static final String WILDCARD = "*";
+
+    private static final Map<String, Map<String, Double>> CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, Double> limits;
+
+    private PerformanceBudgets(Map<String, Double> limits) {
+        this.limits = limits;
+    }
+
+    public static PerformanceBudgets load() {
+        String location = Config.string(BUDGETS_PROPERTY, "");
+        return new PerformanceBudgets(CACHE.computeIfAbsent(location, PerformanceBudgets::read));
+    }
+
+    /**
+     * Returns a message for every metric of {@code timing} that is over its budget.
+     */
+    public List<String> violations(PageTiming timing) {
+        List<String> violations = new ArrayList<>();
+        timing.metrics().forEach((metric, value) -> {
+            Double limit = limitFor(timing.user(), timing.page(), metric);
+            if (limit != null && value > limit) {
+                violations.add(String.format("%s for %s on %s took %.0f ms, budget is %.0f ms",
+                        metric, timing.user().isEmpty() ? "an anonymous user" : timing.user(),
+                        timing.page(), value, limit));
+            }
+        });
+        return violations;
+    }
+
+    public Double limitFor(String user, String page, String metric) {
+        for (String key : List.of(user + "." + page, user + "." + WILDCARD, WILDCARD + "." + page, WILDCARD + "." + WILDCARD)) {
+            Double limit = limits.get(key + "." + metric);
+            if (limit != null) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Double> read(String location) {
+        Properties properties = new Properties();
+        try {
+            if (location.isEmpty()) {
+                try (InputStream in = PerformanceBudgets.class.getClassLoader().getResourceAsStream("perf-budgets.properties")) {
+                    if (in != null) {
+                        properties.load(in);
+                    }
+                }
+            } else {
+                try (Reader reader = Files.newBufferedReader(Path.of(location))) {
+                    properties.load(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read performance budgets from " + location, e);
+        }
+        Map<String, Double> limits = new ConcurrentHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            try {
+                limits.put(key.trim(), Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Budget '" + key + "' must be a number of milliseconds but was '" + value + "'", e);
+            }
+        }
+        return limits;
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.schedule;
+
+import org.example.config.Config;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How long each test method, and each data-provider row of it, took in previous runs, kept in
+ * {@code schedule.history} (default {@code ~/.cache/selenuim/test-durations.json}).
+ * <p>
+ * Durations include the method's {@code @BeforeMethod} and {@code @AfterMethod}, since those
+ * occupy the worker too. A new run is blended into the stored value (half each) so one slow
+ * run does not reorder the whole suite. Methods that did not run this time, e.g. because they
+ * belong to another shard, keep their stored values.
+ */
+public final class DurationHistory {
+
+    public static final String HISTORY_PROPERTY = "schedule.history";
+
+    private static final String NO_ROW = "";
+
+    private final Path file;
+    private final Map<String, Map<String, Long>> stored;
+    private final Map<String, Map<String, Long>> current = new ConcurrentHashMap<>();
+
+    private DurationHistory(Path file, Map<String, Map<String, Long>> stored) {
+        this.file = file;
+        this.stored = stored;
+    }
+
+    public static DurationHistory load() {
+        Path file = Path.of(Config.string(HISTORY_PROPERTY,
+                Path.of(System.getProperty("user.home"), ".cache", "selenuim", "test-durations.json").toString()));
+        Map<String, Map<String, Long>> stored = new TreeMap<>();
+        if (Files.isRegularFile(file)) {
+            try {
+                Map<String, Object> json = new Json().toType(Files.readString(file), Json.MAP_TYPE);
+                json.forEach((method, rows) -> {
+                    Map<String, Long> durations = new TreeMap<>();
+                    ((Map<?, ?>) rows).forEach((row, ms) -> durations.put(row.toString(), ((Number) ms).longValue()));
+                    stored.put(method, durations);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read test durations from " + file, e);
+            } catch (RuntimeException e) {
+                System.err.println("Ignoring unreadable test duration history " + file + ": " + e.getMessage());
+                stored.clear();
+            }
+        }
+        return new DurationHistory(file, stored);
+    }
+
+    public boolean isEmpty() {
+        return stored.isEmpty();
+    }
+
+    /**
+     * Total milliseconds of all rows of {@code method} in previous runs, or {@code fallback}.
+     */
+    public long expected(String method, long fallback) {
+        Map<String, Long> rows = stored.get(method);
+        return rows == null ? fallback : rows.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Milliseconds of one row ({@code null} for a method without parameters), or {@code fallback}.
+     */
+    public long expected(String method, String row, long fallback) {
+        Map<String, Long> rows = stored.get(method);
+        return rows == null ? fallback : rows.getOrDefault(Objects.requireNonNullElse(row, NO_ROW), fallback);
+    }
+
+    /**
+     * Mean of the stored per-method totals, or {@code fallback} when there is no history.
+     */
+    public long meanMethod(long fallback) {
+        return stored.isEmpty()
+                ? fallback
+                : Math.round(stored.keySet().stream().mapToLong(method -> expected(method, 0)).average().orElse(fallback));
+    }
+
+    /**
+     * Adds {@code millis} to the row's duration in this run.
+     */
+    public void record(String method, String row, long millis) {
+        current.computeIfAbsent(method, ignored -> new ConcurrentHashMap<>())
+                .merge(Objects.requireNonNullElse(row, NO_ROW), millis, Long::sum);
+    }
+
+    /**
+     * Blends this run into the stored durations and writes the file. Returns its path.
+     */
+    public Path save() {
+        Map<String, Map<String, Long>> merged = new TreeMap<>(stored);
+        current.forEach((method, rows) -> {
+            Map<String, Long> previous = stored.getOrDefault(method, Map.of());
+            Map<String, Long> durations = new TreeMap<>();
+            rows.forEach((row, ms) -> {
+                Long old = previous.get(row);
+                durations.put(row, old == null ? ms : (old + ms) / 2);
+            });
+            merged.put(method, durations);
+        });
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, new Json().toJson(merged));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write test durations to " + file, e);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.schedule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Longest-processing-time-first bin packing: items are taken from the most to the least
+ * expensive and each goes to the bin with the least total so far. The largest bin is at most
+ * 4/3 of the optimum, and the result is deterministic for the same input order and costs.
+ */
+public final class LptScheduler {
+
+    private LptScheduler() {
+    }
+
+    /**
+     * {@code items} sorted by descending cost; ties keep their input order.
+     */
+    public static <T> List<T> longestFirst(List<T> items, ToLongFunction<T> cost) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(cost).reversed());
+        return sorted;
+    }
+
+    /**
+     * Splits {@code items} into {@code bins} groups of roughly equal total cost. Each group is
+     * itself ordered longest first.
+     */
+    public static <T> List<List<T>> pack(List<T> items, ToLongFunction<T> cost, int bins) {
+        if (bins < 1) {
+            throw new IllegalArgumentException("Need at least one bin, got " + bins);
+        }
+        List<List<T>> groups = new ArrayList<>(bins);
+        long[] totals = new long[bins];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(bin -> totals[bin]).thenComparingInt(bin -> bin));
+        for (int bin = 0; bin < bins; bin++) {
+            groups.add(new ArrayList<>());
+            leastLoaded.add(bin);
+        }
+        for (T item : longestFirst(items, cost)) {
+            int bin = leastLoaded.poll();
+            groups.get(bin).add(item);
+            totals[bin] += cost.applyAsLong(item);
+            leastLoaded.add(bin);
+        }
+        return groups;
+    }
+
+    /**
+     * The items of shard {@code index} when {@code items} are {@linkplain #pack packed} into
+     * {@code shards} groups. Every item belongs to exactly one shard, provided each shard is
+     * given the same items and costs.
+     */
+    public static <T> List<T> shard(List<T> items, ToLongFunction<T> cost, int shards, int index) {
+        if (index < 0 || index >= shards) {
+            throw new IllegalArgumentException("Shard index must be between 0 and " + (shards - 1) + ", got " + index);
+        }
+        return pack(items, cost, shards).get(index);
+    }
+}
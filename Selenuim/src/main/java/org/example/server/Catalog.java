@@ -0,0 +1,66 @@
+package org.example.server;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The six Swag Labs v1 products, with the ids, names, descriptions and prices the real
+ * site uses. Served by {@link SwagLabsServer} and shared with fixtures that need to refer
+ * to products by id.
+ */
+public final class Catalog {
+
+    public record Product(int id, String name, String description, BigDecimal price, String image) {
+
+        public String priceText() {
+            return "$" + price.toPlainString();
+        }
+
+        public String detailPath() {
+            return "inventory-item.html?id=" + id;
+        }
+    }
+
+    private static final List<Product> PRODUCTS = List.of(
+            new Product(4, "Sauce Labs Backpack",
+                    "carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.",
+                    new BigDecimal("29.99"), "sauce-backpack-1200x1500"),
+            new Product(0, "Sauce Labs Bike Light",
+                    "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included.",
+                    new BigDecimal("9.99"), "bike-light-1200x1500"),
+            new Product(1, "Sauce Labs Bolt T-Shirt",
+                    "Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.",
+                    new BigDecimal("15.99"), "bolt-shirt-1200x1500"),
+            new Product(5, "Sauce Labs Fleece Jacket",
+                    "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.",
+                    new BigDecimal("49.99"), "sauce-pullover-1200x1500"),
+            new Product(2, "Sauce Labs Onesie",
+                    "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel.",
+                    new BigDecimal("7.99"), "red-onesie-1200x1500"),
+            new Product(3, "Test.allTheThings() T-Shirt (Red)",
+                    "This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.",
+                    new BigDecimal("15.99"), "red-tatt-1200x1500"));
+
+    private Catalog() {
+    }
+
+    /**
+     * All products in the default (name A to Z) display order.
+     */
+    public static List<Product> products() {
+        return PRODUCTS.stream().sorted(Comparator.comparing(Product::name)).toList();
+    }
+
+    public static Optional<Product> byId(int id) {
+        return PRODUCTS.stream().filter(product -> product.id() == id).findFirst();
+    }
+
+    public static Product byName(String name) {
+        return PRODUCTS.stream()
+                .filter(product -> product.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No Swag Labs product is named '" + name + "'"));
+    }
+}
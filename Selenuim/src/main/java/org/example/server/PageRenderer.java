@@ -0,0 +1,286 @@
+package org.example.server;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the Swag Labs v1 pages. Ids, classes, attributes and texts mirror the real
+ * site because the test locators depend on them (several match on the exact class
+ * attribute or inline style). Cart-dependent parts - button states, the cart badge,
+ * the cart and overview lists - are filled in by js/app.js from localStorage, just like
+ * the original client-side app.
+ */
+final class PageRenderer {
+
+    static final String PROBLEM_USER = "problem_user";
+
+    private static final String MENU_BUTTON_STYLE = "position: absolute; left: 0px; top: 0px; width: 100%; height: 100%; "
+            + "margin: 0px; padding: 0px; border: none; opacity: 0; font-size: 8px; cursor: pointer;";
+
+    private PageRenderer() {
+    }
+
+    static String login() {
+        return document("login", """
+                <div class="login_logo"></div>
+                <div class="login_wrapper">
+                  <div class="login_wrapper-inner">
+                    <div id="login_button_container" class="form_column">
+                      <div class="login-box">
+                        <form id="login_form">
+                          <input type="text" class="form_input" data-test="username" id="user-name" placeholder="Username" value="">
+                          <input type="password" class="form_input" data-test="password" id="password" placeholder="Password" value="">
+                          <input type="submit" class="btn_action" value="LOGIN" id="login-button">
+                        </form>
+                      </div>
+                    </div>
+                  </div>
+                </div>
+                """);
+    }
+
+    static String inventory(String username) {
+        String items = Catalog.products().stream()
+                .map(product -> inventoryItem(product, username))
+                .collect(Collectors.joining("\n"));
+        return document("inventory", chrome("""
+                <div id="inventory_container" class="inventory_container">
+                  <div class="header_secondary_container">
+                    <div class="product_label">Products</div>
+                    <select class="product_sort_container">
+                      <option value="az">Name (A to Z)</option>
+                      <option value="za">Name (Z to A)</option>
+                      <option value="lohi">Price (low to high)</option>
+                      <option value="hilo">Price (high to low)</option>
+                    </select>
+                  </div>
+                  <div class="inventory_list">
+                %s
+                  </div>
+                </div>
+                """.formatted(items)));
+    }
+
+    static String item(String idParameter, String username) {
+        Catalog.Product product = parseId(idParameter);
+        if (product == null) {
+            return document("item", chrome("""
+                    <div class="inventory_details">
+                      <button class="inventory_details_back_button" id="back-to-products">&lt;- Back</button>
+                      <div class="inventory_details_container">
+                        <div class="inventory_details_desc_container">
+                          <div class="inventory_details_name">ITEM NOT FOUND</div>
+                          <div class="inventory_details_desc">We're sorry, but your call could not be completed as dialled.</div>
+                        </div>
+                      </div>
+                    </div>
+                    """));
+        }
+        return document("item", chrome("""
+                <div class="inventory_details">
+                  <button class="inventory_details_back_button" id="back-to-products">&lt;- Back</button>
+                  <div class="inventory_details_container">
+                    <img class="inventory_details_img" src="%s" alt="%s">
+                    <div class="inventory_details_desc_container">
+                      <div class="inventory_details_name">%s</div>
+                      <div class="inventory_details_desc">%s</div>
+                      <div class="inventory_details_price">%s</div>
+                      <button class="btn_primary btn_inventory" data-item-id="%d">ADD TO CART</button>
+                    </div>
+                  </div>
+                </div>
+                """.formatted(imageSource(product, username), escape(product.name()), escape(product.name()),
+                escape(product.description()), product.priceText(), product.id())));
+    }
+
+    static String cart() {
+        return document("cart", chrome("""
+                <div class="subheader">Your Cart</div>
+                <div id="cart_contents_container" class="cart_contents_container">
+                  <div class="cart_list">
+                    <div class="cart_quantity_label">QTY</div>
+                    <div class="cart_desc_label">DESCRIPTION</div>
+                  </div>
+                  <div class="cart_footer">
+                    <a class="btn_secondary" href="./inventory.html">Continue Shopping</a>
+                    <a class="btn_action checkout_button" href="./checkout-step-one.html">CHECKOUT</a>
+                  </div>
+                </div>
+                """));
+    }
+
+    static String checkoutStepOne() {
+        return document("checkout-step-one", chrome("""
+                <div class="subheader">Checkout: Your Information</div>
+                <div id="checkout_info_container" class="checkout_info_container">
+                  <div class="checkout_info_wrapper">
+                    <form id="checkout_info_form">
+                      <div class="checkout_info">
+                        <input type="text" class="form_input" data-test="firstName" id="first-name" placeholder="First Name" value="">
+                        <input type="text" class="form_input" data-test="lastName" id="last-name" placeholder="Last Name" value="">
+                        <input type="text" class="form_input" data-test="postalCode" id="postal-code" placeholder="Zip/Postal Code" value="">
+                      </div>
+                      <div class="checkout_buttons">
+                        <a class="cart_cancel_link btn_secondary" href="./cart.html">CANCEL</a>
+                        <input class="btn_primary cart_button" type="submit" value="CONTINUE">
+                      </div>
+                    </form>
+                  </div>
+                </div>
+                """));
+    }
+
+    static String checkoutStepTwo() {
+        return document("checkout-step-two", chrome("""
+                <div class="subheader">Checkout: Overview</div>
+                <div id="checkout_summary_container" class="checkout_summary_container">
+                  <div class="cart_list">
+                    <div class="cart_quantity_label">QTY</div>
+                    <div class="cart_desc_label">DESCRIPTION</div>
+                  </div>
+                  <div class="summary_info">
+                    <div class="summary_info_label">Payment Information:</div>
+                    <div class="summary_value_label">SauceCard #31337</div>
+                    <div class="summary_info_label">Shipping Information:</div>
+                    <div class="summary_value_label">FREE PONY EXPRESS DELIVERY!</div>
+                    <div class="summary_subtotal_label">Item total: $0</div>
+                    <div class="summary_tax_label">Tax: $0.00</div>
+                    <div class="summary_total_label">Total: $0.00</div>
+                    <div class="cart_footer">
+                      <a class="cart_cancel_link btn_secondary" href="./inventory.html">CANCEL</a>
+                      <a class="btn_action cart_button" href="./checkout-complete.html">FINISH</a>
+                    </div>
+                  </div>
+                </div>
+                """));
+    }
+
+    static String checkoutComplete() {
+        return document("checkout-complete", chrome("""
+                <div class="subheader">Finish</div>
+                <div id="checkout_complete_container" class="checkout_complete_container">
+                  <h2 class="complete-header">THANK YOU FOR YOUR ORDER</h2>
+                  <div class="complete-text">Your order has been dispatched, and will arrive just as fast as the pony can get there!</div>
+                  <img class="pony_express" src="./img/pony-express.svg" alt="Pony Express">
+                </div>
+                """));
+    }
+
+    /**
+     * Client-side copy of the catalog used by app.js to render cart and overview lists.
+     */
+    static String catalogScript() {
+        List<String> entries = Catalog.products().stream()
+                .map(product -> "%d: {id: %d, name: \"%s\", desc: \"%s\", price: %s}".formatted(product.id(), product.id(),
+                        jsString(product.name()), jsString(product.description()), product.price().toPlainString()))
+                .toList();
+        return "window.SWAG_CATALOG = {\n  " + String.join(",\n  ", entries) + "\n};\n";
+    }
+
+    /**
+     * Flat placeholder artwork standing in for the product photos.
+     */
+    static String image(String name) {
+        int hue = Math.floorMod(name.hashCode(), 360);
+        return """
+                <svg xmlns="http://www.w3.org/2000/svg" width="240" height="300" viewBox="0 0 240 300">
+                  <rect width="240" height="300" fill="hsl(%d, 45%%, 70%%)"/>
+                  <text x="120" y="155" font-family="sans-serif" font-size="14" text-anchor="middle">%s</text>
+                </svg>
+                """.formatted(hue, escape(name));
+    }
+
+    private static String inventoryItem(Catalog.Product product, String username) {
+        return """
+                    <div class="inventory_item" data-name="%s" data-price="%s">
+                      <div class="inventory_item_img">
+                        <a href="./%s" id="item_%d_img_link"><img class="inventory_item_img" src="%s" alt="%s"></a>
+                      </div>
+                      <div class="inventory_item_label">
+                        <a href="./%s" id="item_%d_title_link"><div class="inventory_item_name">%s</div></a>
+                        <div class="inventory_item_desc">%s</div>
+                      </div>
+                      <div class="pricebar">
+                        <div class="inventory_item_price">%s</div>
+                        <button class="btn_primary btn_inventory" data-item-id="%d">ADD TO CART</button>
+                      </div>
+                    </div>""".formatted(escape(product.name()), product.price().toPlainString(),
+                product.detailPath(), product.id(), imageSource(product, username), escape(product.name()),
+                product.detailPath(), product.id(), escape(product.name()), escape(product.description()),
+                product.priceText(), product.id());
+    }
+
+    private static String imageSource(Catalog.Product product, String username) {
+        // problem_user famously sees a broken image for every product.
+        return PROBLEM_USER.equals(username) ? "./img/sl-404.svg" : "./img/" + product.image() + ".svg";
+    }
+
+    /**
+     * Burger menu and header shared by every page behind the login.
+     */
+    private static String chrome(String contents) {
+        return """
+                <div id="page_wrapper" class="page_wrapper">
+                  <div id="menu_button_container">
+                    <div class="bm-burger-button">
+                      <button style="%s">Open Menu</button>
+                    </div>
+                    <div class="bm-menu-wrap" aria-hidden="true" style="display: none;">
+                      <nav class="bm-item-list">
+                        <a id="inventory_sidebar_link" class="bm-item menu-item" href="./inventory.html">All Items</a>
+                        <a id="about_sidebar_link" class="bm-item menu-item" href="https://saucelabs.com/">About</a>
+                        <a id="logout_sidebar_link" class="bm-item menu-item" href="./index.html">Logout</a>
+                        <a id="reset_sidebar_link" class="bm-item menu-item" href="#">Reset App State</a>
+                      </nav>
+                      <div class="bm-cross-button"><button>Close Menu</button></div>
+                    </div>
+                  </div>
+                  <div id="header_container" class="header_container">
+                    <div class="header_label"><div class="app_logo"></div></div>
+                    <div id="shopping_cart_container" class="shopping_cart_container">
+                      <a href="./cart.html" class="shopping_cart_link fa-layers fa-fw">
+                        <svg class="svg-inline--fa fa-shopping-cart" viewBox="0 0 576 512" width="40" height="40"><path fill="currentColor" d="M0 0h576v512H0z"/></svg>
+                      </a>
+                    </div>
+                  </div>
+                  <div id="contents_wrapper">
+                %s
+                  </div>
+                </div>
+                """.formatted(MENU_BUTTON_STYLE, contents);
+    }
+
+    private static String document(String page, String body) {
+        return """
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                  <meta charset="utf-8">
+                  <title>Swag Labs</title>
+                  <link rel="stylesheet" href="./css/app.css">
+                  <script src="./js/catalog.js"></script>
+                  <script src="./js/app.js"></script>
+                </head>
+                <body data-page="%s">
+                %s
+                </body>
+                </html>
+                """.formatted(page, body);
+    }
+
+    private static Catalog.Product parseId(String idParameter) {
+        try {
+            return idParameter == null ? null : Catalog.byId(Integer.parseInt(idParameter)).orElse(null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String jsString(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
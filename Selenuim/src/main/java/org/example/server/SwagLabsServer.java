@@ -0,0 +1,226 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for https://www.saucedemo.com/v1/ serving the login, inventory,
+ * item detail, cart and checkout pages on the loopback interface.
+ * <p>
+ * Latency can be injected deterministically: {@link Builder#latency(Duration)} delays every
+ * response, and {@link Builder#userLatency(String, Duration)} additionally delays page
+ * documents requested by a logged-in user (read from the {@code session-username} cookie),
+ * which is how {@code performance_glitch_user} is emulated.
+ */
+public final class SwagLabsServer implements AutoCloseable {
+
+    public static final String CONTEXT_PATH = "/v1/";
+    public static final String PERFORMANCE_GLITCH_USER = "performance_glitch_user";
+
+    private static final String RESOURCE_ROOT = "swaglabs/";
+    private static final Set<String> SERVING = ConcurrentHashMap.newKeySet();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+    private final Map<String, Duration> userLatency;
+
+    private SwagLabsServer(Builder builder) throws IOException {
+        this.latency = builder.latency;
+        this.userLatency = Map.copyOf(builder.userLatency);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), 0);
+        this.server.createContext(CONTEXT_PATH, this::handle);
+        this.server.createContext("/", exchange -> send(exchange, 404, "text/plain", bytes("Not Found")));
+        this.server.setExecutor(executor);
+        this.server.start();
+        SERVING.add(baseUrl());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Whether a replica started in this JVM is currently serving {@code baseUrl}.
+     */
+    public static boolean serves(String baseUrl) {
+        return SERVING.contains(baseUrl);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * The application root, e.g. {@code http://127.0.0.1:53411/v1/}.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + port() + CONTEXT_PATH;
+    }
+
+    @Override
+    public void close() {
+        SERVING.remove(baseUrl());
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            URI uri = exchange.getRequestURI();
+            String page = uri.getPath().substring(CONTEXT_PATH.length());
+            String username = sessionUser(exchange);
+            pause(latency);
+            if (page.isEmpty() || page.endsWith(".html")) {
+                pause(userLatency.getOrDefault(username, Duration.ZERO));
+            }
+            switch (page) {
+                case "", "index.html" -> html(exchange, PageRenderer.login());
+                case "inventory.html" -> html(exchange, PageRenderer.inventory(username));
+                case "inventory-item.html" -> html(exchange, PageRenderer.item(queryParameter(uri, "id"), username));
+                case "cart.html" -> html(exchange, PageRenderer.cart());
+                case "checkout-step-one.html" -> html(exchange, PageRenderer.checkoutStepOne());
+                case "checkout-step-two.html" -> html(exchange, PageRenderer.checkoutStepTwo());
+                case "checkout-complete.html" -> html(exchange, PageRenderer.checkoutComplete());
+                case "js/catalog.js" -> send(exchange, 200, "application/javascript", bytes(PageRenderer.catalogScript()));
+                case "robots.txt" -> send(exchange, 200, "text/plain", bytes("User-agent: *\nDisallow:\n"));
+                default -> {
+                    if (page.startsWith("img/") && page.endsWith(".svg")) {
+                        String name = page.substring("img/".length(), page.length() - ".svg".length());
+                        send(exchange, 200, "image/svg+xml", bytes(PageRenderer.image(name)));
+                    } else {
+                        staticResource(exchange, page);
+                    }
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void staticResource(HttpExchange exchange, String page) throws IOException {
+        try (InputStream in = page.contains("..") ? null
+                : SwagLabsServer.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + page)) {
+            if (in == null) {
+                send(exchange, 404, "text/plain", bytes("Not Found"));
+                return;
+            }
+            String type = page.endsWith(".css") ? "text/css" : page.endsWith(".js") ? "application/javascript" : "application/octet-stream";
+            send(exchange, 200, type, in.readAllBytes());
+        }
+    }
+
+    private static void html(HttpExchange exchange, String body) throws IOException {
+        send(exchange, 200, "text/html", bytes(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String sessionUser(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals("session-username")) {
+                    return pair[1];
+                }
+            }
+        }
+        return "";
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts[0].equals(name)) {
+                return parts.length == 2 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "";
+            }
+        }
+        return null;
+    }
+
+    private static void pause(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static final class Builder {
+        private int port;
+        private Duration latency = Duration.ZERO;
+        private final Map<String, Duration> userLatency = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Port to listen on; 0 (the default) picks a free ephemeral port.
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Delay added to every response, emulating network round-trip time.
+         */
+        public Builder latency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Extra delay for every page document requested while logged in as {@code username}.
+         */
+        public Builder userLatency(String username, Duration latency) {
+            this.userLatency.put(username, latency);
+            return this;
+        }
+
+        public SwagLabsServer start() {
+            try {
+                return new SwagLabsServer(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the local Swag Labs server", e);
+            }
+        }
+    }
+}
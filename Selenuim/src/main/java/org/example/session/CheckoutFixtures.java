@@ -0,0 +1,52 @@
+package org.example.session;
+
+import org.example.config.SwagLabs;
+import org.example.server.Catalog;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Starts a test part-way through checkout instead of clicking there.
+ * <p>
+ * Swag Labs keeps the cart client-side as a JSON array of product ids in the
+ * {@code cart-contents} localStorage entry, so the cart can be written directly and the
+ * checkout pages opened by URL. The session must already be logged in (see
+ * {@link SessionBootstrap}) and on the application, since storage is per origin. Tests of the
+ * click-through path itself should keep using the UI.
+ */
+public final class CheckoutFixtures {
+
+    private static final String CART_KEY = "cart-contents";
+
+    private CheckoutFixtures() {
+    }
+
+    /**
+     * Replaces the cart with the named products (names as listed in {@link Catalog}).
+     */
+    public static void seedCart(WebDriver driver, String... productNames) {
+        String ids = Arrays.stream(productNames)
+                .map(name -> String.valueOf(Catalog.byName(name).id()))
+                .collect(Collectors.joining(",", "[", "]"));
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.setItem(arguments[0], arguments[1]);", CART_KEY, ids);
+    }
+
+    /**
+     * Seeds the cart and opens checkout-step-one.html (the shipping information form).
+     */
+    public static void openStepOne(WebDriver driver, String... productNames) {
+        seedCart(driver, productNames);
+        driver.get(SwagLabs.page("checkout-step-one.html"));
+    }
+
+    /**
+     * Seeds the cart and opens checkout-step-two.html (the order overview).
+     */
+    public static void openStepTwo(WebDriver driver, String... productNames) {
+        seedCart(driver, productNames);
+        driver.get(SwagLabs.page("checkout-step-two.html"));
+    }
+}
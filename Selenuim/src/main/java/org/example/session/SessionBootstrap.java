@@ -0,0 +1,127 @@
+package org.example.session;
+
+import org.example.config.SwagLabs;
+import org.example.driver.DriverContext;
+import org.example.wait.AdaptiveTimeouts;
+import org.example.wait.DomConditions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.UnableToSetCookieException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts a browser session straight onto inventory.html as a given user without going
+ * through the login form.
+ * <p>
+ * The first request for a user logs in through the real form once, captures the
+ * resulting cookies and storage as a {@link SessionSnapshot} and caches it for the rest
+ * of the JVM. Every later request injects that snapshot into the (new or recycled)
+ * session and opens the inventory page directly. Login_Logout deliberately does not use
+ * this class because the form itself is what it tests.
+ * <p>
+ * Restoring the snapshot also resets the cart and other storage, so every call starts from
+ * the same state. The one exception is a {@link org.example.driver.SessionAffinity} session
+ * that this class already signed in with the same credentials: rows sharing it have opted in
+ * to sharing its state, so it only navigates back to the inventory page.
+ */
+public final class SessionBootstrap {
+
+    public static final String DEFAULT_PASSWORD = "secret_sauce";
+
+    private static final Duration LOGIN_TIMEOUT = Duration.ofSeconds(20);
+    private static final String SESSION_COOKIE = "session-username";
+    private static final By USERNAME_FIELD = By.id("user-name");
+    private static final By PASSWORD_FIELD = By.id("password");
+    private static final By LOGIN_BUTTON = By.id("login-button");
+    private static final By INVENTORY_LIST = By.className("inventory_list");
+
+    private static final Map<String, SessionSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+    // Affinity key -> login key of the last login into that affine session
+    private static final Map<String, String> AFFINE_LOGINS = new ConcurrentHashMap<>();
+
+    private SessionBootstrap() {
+    }
+
+    /**
+     * Logs {@code username} in against the configured {@link SwagLabs#baseUrl()}.
+     */
+    public static void loginAs(WebDriver driver, String username) {
+        loginAs(driver, SwagLabs.baseUrl(), username, DEFAULT_PASSWORD);
+    }
+
+    public static void loginAs(WebDriver driver, String baseUrl, String username) {
+        loginAs(driver, baseUrl, username, DEFAULT_PASSWORD);
+    }
+
+    /**
+     * Leaves {@code driver} on {@code baseUrl + "inventory.html"} logged in as {@code username}.
+     *
+     * @param baseUrl the application root, e.g. {@code https://www.saucedemo.com/v1/}
+     */
+    public static void loginAs(WebDriver driver, String baseUrl, String username, String password) {
+        String root = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        AdaptiveTimeouts.actingAs(username);
+        String key = root + '\n' + username + '\n' + password;
+        String affinityKey = DriverContext.affinityKeyOf(driver);
+        if (affinityKey != null && key.equals(AFFINE_LOGINS.get(affinityKey)) && isSignedInAs(driver, root, username)) {
+            // An affine session kept between rows is already logged in.
+            driver.get(root + "inventory.html");
+            return;
+        }
+        restoreOrLogin(driver, root, key, username, password);
+        if (affinityKey != null) {
+            AFFINE_LOGINS.put(affinityKey, key);
+        }
+    }
+
+    private static void restoreOrLogin(WebDriver driver, String root, String key, String username, String password) {
+        SessionSnapshot snapshot = SNAPSHOTS.get(key);
+        if (snapshot == null) {
+            SNAPSHOTS.putIfAbsent(key, loginThroughForm(driver, root, username, password));
+            return;
+        }
+        // Cookies and storage can only be written while on the target origin, so land on a
+        // cheap page there first; any response from the origin (even a 404) will do.
+        driver.get(root + "robots.txt");
+        try {
+            snapshot.applyTo(driver);
+        } catch (UnableToSetCookieException e) {
+            // HtmlUnit only accepts cookies on an HTML page.
+            driver.get(root + "index.html");
+            snapshot.applyTo(driver);
+        }
+        driver.get(root + "inventory.html");
+    }
+
+    /**
+     * Forgets every cached login, e.g. after the application under test has been restarted.
+     */
+    public static void clear() {
+        SNAPSHOTS.clear();
+        AFFINE_LOGINS.clear();
+    }
+
+    private static boolean isSignedInAs(WebDriver driver, String root, String username) {
+        if (!driver.getCurrentUrl().startsWith(root)) {
+            return false;
+        }
+        Cookie cookie = driver.manage().getCookieNamed(SESSION_COOKIE);
+        return cookie != null && username.equals(cookie.getValue());
+    }
+
+    private static SessionSnapshot loginThroughForm(WebDriver driver, String root, String username, String password) {
+        WebDriverWait wait = DriverContext.newWait(driver, LOGIN_TIMEOUT);
+        driver.get(root + "index.html");
+        wait.until(DomConditions.visibilityOfElementLocated(USERNAME_FIELD)).sendKeys(username);
+        wait.until(DomConditions.visibilityOfElementLocated(PASSWORD_FIELD)).sendKeys(password);
+        wait.until(DomConditions.elementToBeClickable(LOGIN_BUTTON)).click();
+        wait.until(DomConditions.visibilityOfElementLocated(INVENTORY_LIST));
+        System.out.println("Captured session snapshot for " + username);
+        return SessionSnapshot.capture(driver);
+    }
+}
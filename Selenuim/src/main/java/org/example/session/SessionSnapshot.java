@@ -0,0 +1,73 @@
+package org.example.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cookies and web storage of a logged-in Swag Labs tab, captured once and replayed into
+ * other sessions on the same origin.
+ */
+public record SessionSnapshot(Set<Cookie> cookies, Map<String, String> localStorage,
+                              Map<String, String> sessionStorage) {
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var read = function (storage) {"
+                    + "  var copy = {};"
+                    + "  for (var i = 0; i < storage.length; i++) {"
+                    + "    var key = storage.key(i); copy[key] = storage.getItem(key);"
+                    + "  }"
+                    + "  return copy;"
+                    + "};"
+                    + "return { local: read(window.localStorage), session: read(window.sessionStorage) };";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var write = function (storage, values) {"
+                    + "  storage.clear();"
+                    + "  Object.keys(values).forEach(function (key) { storage.setItem(key, values[key]); });"
+                    + "};"
+                    + "write(window.localStorage, arguments[0]);"
+                    + "write(window.sessionStorage, arguments[1]);";
+
+    public SessionSnapshot {
+        cookies = Set.copyOf(cookies);
+        localStorage = Map.copyOf(localStorage);
+        sessionStorage = Map.copyOf(sessionStorage);
+    }
+
+    /**
+     * Captures the state of the current tab. The tab must be on the origin being captured.
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        return new SessionSnapshot(
+                driver.manage().getCookies(),
+                toStrings((Map<String, Object>) storage.get("local")),
+                toStrings((Map<String, Object>) storage.get("session")));
+    }
+
+    /**
+     * Replaces the cookies and storage of the current tab with this snapshot. The tab must
+     * already be on the snapshot's origin; reload or navigate afterwards for the page to see it.
+     */
+    public void applyTo(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage, sessionStorage);
+    }
+
+    private static Map<String, String> toStrings(Map<String, Object> values) {
+        Map<String, String> copy = new HashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> copy.put(key, String.valueOf(value)));
+        }
+        return copy;
+    }
+}
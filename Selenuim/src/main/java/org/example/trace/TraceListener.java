@@ -0,0 +1,64 @@
+package org.example.trace;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records every call made through an {@link org.openqa.selenium.support.events.EventFiringDecorator}
+ * as a {@code command} span of the calling thread, named {@code Interface.method} like
+ * {@link org.example.metrics.CommandTimingListener} names it. A {@link By} argument is added
+ * as the locator, and a failed call as its exception.
+ */
+public class TraceListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(Tracer.now());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args, null);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args, e.getTargetException());
+    }
+
+    private void finish(Method method, Object[] args, Throwable error) {
+        Long start = starts.get().poll();
+        if (start == null) {
+            return;
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        String locator = locatorOf(args);
+        if (locator != null) {
+            details.put("locator", locator);
+        }
+        if (error != null) {
+            details.put("error", error.getClass().getSimpleName());
+        }
+        Tracer.complete("command", method.getDeclaringClass().getSimpleName() + "." + method.getName(), start, details);
+    }
+
+    private static String locatorOf(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof By locator) {
+                    return locator.toString();
+                }
+            }
+        }
+        return null;
+    }
+}
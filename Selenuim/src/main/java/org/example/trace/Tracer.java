@@ -0,0 +1,194 @@
+package org.example.trace;
+
+import org.example.config.Config;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Timeline of what every worker thread did, written in the Chrome Trace Event format so it
+ * opens in Perfetto ({@code ui.perfetto.dev}) or {@code chrome://tracing}.
+ * <ul>
+ *     <li>{@code trace.enabled} - record spans and write {@code trace.output} (default
+ *     {@value #DEFAULT_OUTPUT}) at the end of the suite (default {@code false})</li>
+ *     <li>{@code trace.maxEvents} - events kept before further ones are dropped (default
+ *     {@value #DEFAULT_MAX_EVENTS})</li>
+ * </ul>
+ * Work done on one thread - test and configuration methods, data providers, session leases,
+ * waits and driver commands - is recorded as complete ({@code X}) events on that thread's
+ * track, so nested spans stack up and idle gaps between them show as empty space. Spans
+ * that may begin and end on different threads, the suite and its classes, are async
+ * ({@code b}/{@code e}) events on tracks of their own. When tracing is off every method
+ * returns straight away.
+ */
+public final class Tracer {
+
+    public static final String ENABLED_PROPERTY = "trace.enabled";
+    public static final String OUTPUT_PROPERTY = "trace.output";
+    public static final String MAX_EVENTS_PROPERTY = "trace.maxEvents";
+    public static final String DEFAULT_OUTPUT = "target/trace.json";
+    public static final int DEFAULT_MAX_EVENTS = 1_000_000;
+
+    private static final boolean ENABLED = Config.flag(ENABLED_PROPERTY, false);
+    private static final int MAX_EVENTS = Math.max(0, Config.integer(MAX_EVENTS_PROPERTY, DEFAULT_MAX_EVENTS));
+    private static final long ORIGIN = System.nanoTime();
+    private static final long PID = ProcessHandle.current().pid();
+
+    private static final Queue<Map<String, Object>> EVENTS = new ConcurrentLinkedQueue<>();
+    private static final Map<Long, String> THREADS = new ConcurrentHashMap<>();
+    private static final AtomicLong RECORDED = new AtomicLong();
+
+    private Tracer() {
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * The clock spans are measured with; pass its value to {@link #complete} when the span
+     * ends.
+     */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a span of the current thread that started at {@code startNanos} (from
+     * {@link #now()}) and ends now.
+     *
+     * @param args shown with the span in the viewer; may be {@code null}
+     */
+    public static void complete(String category, String name, long startNanos, Map<String, Object> args) {
+        if (!ENABLED) {
+            return;
+        }
+        long end = System.nanoTime();
+        Map<String, Object> event = event("X", category, name, startNanos, args);
+        event.put("tid", currentThread());
+        event.put("dur", Math.max(0, (end - startNanos) / 1_000));
+        add(event);
+    }
+
+    /**
+     * Runs {@code body} as a span of the current thread; the span also covers a body that
+     * throws.
+     */
+    public static <V> V span(String category, String name, Map<String, Object> args, Supplier<V> body) {
+        if (!ENABLED) {
+            return body.get();
+        }
+        long start = now();
+        try {
+            return body.get();
+        } finally {
+            complete(category, name, start, args);
+        }
+    }
+
+    /**
+     * Starts a span that may be ended on another thread; {@code id} pairs it with
+     * {@link #endAsync} and must be unique among the open spans of {@code category}.
+     */
+    public static void beginAsync(String category, String name, String id, Map<String, Object> args) {
+        if (ENABLED) {
+            add(async("b", category, name, id, args));
+        }
+    }
+
+    public static void endAsync(String category, String name, String id) {
+        if (ENABLED) {
+            add(async("e", category, name, id, null));
+        }
+    }
+
+    /**
+     * Writes the trace and returns its path, or {@code null} when tracing is off.
+     */
+    public static Path export() {
+        if (!ENABLED) {
+            return null;
+        }
+        List<Map<String, Object>> events = new ArrayList<>();
+        events.add(metadata("process_name", 0, "Swag Labs suite"));
+        THREADS.forEach((tid, name) -> events.add(metadata("thread_name", tid, name)));
+        events.addAll(EVENTS);
+
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("displayTimeUnit", "ms");
+        trace.put("traceEvents", events);
+        long dropped = RECORDED.get() - EVENTS.size();
+        if (dropped > 0) {
+            trace.put("otherData", Map.of("droppedEvents", dropped));
+            System.err.println("Trace dropped " + dropped + " events over " + MAX_EVENTS_PROPERTY + "=" + MAX_EVENTS);
+        }
+        Path output = Path.of(Config.string(OUTPUT_PROPERTY, DEFAULT_OUTPUT));
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(output, new Json().toJson(trace));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the trace to " + output, e);
+        }
+        return output;
+    }
+
+    private static Map<String, Object> async(String phase, String category, String name, String id,
+                                             Map<String, Object> args) {
+        Map<String, Object> event = event(phase, category, name, System.nanoTime(), args);
+        event.put("tid", currentThread());
+        event.put("id", id);
+        return event;
+    }
+
+    private static Map<String, Object> event(String phase, String category, String name, long nanos,
+                                             Map<String, Object> args) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("ph", phase);
+        event.put("cat", category);
+        event.put("name", name);
+        event.put("ts", (nanos - ORIGIN) / 1_000);
+        event.put("pid", PID);
+        if (args != null && !args.isEmpty()) {
+            event.put("args", args);
+        }
+        return event;
+    }
+
+    private static Map<String, Object> metadata(String name, long tid, String value) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("ph", "M");
+        event.put("name", name);
+        event.put("pid", PID);
+        event.put("tid", tid);
+        event.put("args", Map.of("name", value));
+        return event;
+    }
+
+    private static long currentThread() {
+        Thread thread = Thread.currentThread();
+        long tid = thread.threadId();
+        THREADS.putIfAbsent(tid, thread.getName());
+        return tid;
+    }
+
+    private static void add(Map<String, Object> event) {
+        if (RECORDED.getAndIncrement() < MAX_EVENTS) {
+            EVENTS.add(event);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.wait;
+
+import org.example.driver.DriverContext;
+import org.example.metrics.CommandMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Negative checks that answer in milliseconds instead of burning a full wait timeout.
+ * <p>
+ * {@link #isAbsent} and {@link #assertAbsent} first wait (in the page, one round trip) for the
+ * page to settle - document loaded, no XHR/fetch in flight, no running animation and a short
+ * DOM-quiet window, see {@link PageScripts#WHEN_READY_FUNCTION} - and then check once that no
+ * matching element is visible. {@link #assertDisappears} is for elements that are expected to
+ * go away and returns as soon as they do.
+ */
+public final class Absence {
+
+    /**
+     * Upper bound on how long to wait for the page to settle before checking anyway.
+     */
+    public static final Duration DEFAULT_SETTLE_LIMIT = Duration.ofSeconds(2);
+
+    private static final long QUIET_MILLIS = 50;
+
+    private static final String ABSENCE_SCRIPT = PageScripts.VISIBLE_FUNCTION + PageScripts.FIND_FUNCTION
+            + PageScripts.WHEN_READY_FUNCTION
+            + "var using = arguments[0], value = arguments[1], maxMs = arguments[2], quietMs = arguments[3];"
+            + "var done = arguments[arguments.length - 1];"
+            + "whenReady(maxMs, quietMs, function (settled, elapsed) {"
+            + "  var nodes = find(using, value), present = false;"
+            + "  for (var i = 0; i < nodes.length; i++) { if (visible(nodes[i])) { present = true; } }"
+            + "  done({ settled: settled, present: present, elapsed: elapsed });"
+            + "});";
+
+    private Absence() {
+    }
+
+    /**
+     * True when, once the page has settled, no element matching {@code locator} is visible.
+     */
+    public static boolean isAbsent(WebDriver driver, By locator) {
+        return check(driver, locator, DEFAULT_SETTLE_LIMIT).absent;
+    }
+
+    public static void assertAbsent(WebDriver driver, By locator, String message) {
+        Result result = check(driver, locator, DEFAULT_SETTLE_LIMIT);
+        if (!result.absent) {
+            throw new AssertionError(message + " (" + locator + " is visible"
+                    + (result.settled ? "" : "; the page had not settled after " + DEFAULT_SETTLE_LIMIT.toMillis() + " ms")
+                    + ")");
+        }
+    }
+
+    /**
+     * Waits until no element matching {@code locator} is visible, returning as soon as that is true.
+     */
+    public static void assertDisappears(WebDriver driver, By locator, Duration timeout, String message) {
+        try {
+            DriverContext.newWait(driver, timeout).until(DomConditions.invisibilityOfElementLocated(locator));
+        } catch (TimeoutException e) {
+            throw new AssertionError(message + " (" + locator + " still visible after " + timeout.toMillis() + " ms)", e);
+        }
+    }
+
+    private static Result check(WebDriver driver, By locator, Duration settleLimit) {
+        return CommandMetrics.time("absence", locator.toString(), () -> checkOnce(driver, locator, settleLimit));
+    }
+
+    private static Result checkOnce(WebDriver driver, By locator, Duration settleLimit) {
+        DomCondition<Boolean> condition = DomConditions.invisibilityOfElementLocated(locator);
+        Map<String, Object> spec = condition.spec();
+        if (spec == null) {
+            return new Result(clientSideAbsent(driver, locator), true);
+        }
+        WebDriverException lastError = null;
+        // A navigation can unload the document mid-check; one retry lands on the new page.
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) driver).executeAsyncScript(ABSENCE_SCRIPT,
+                        spec.get("using"), spec.get("value"), settleLimit.toMillis(), QUIET_MILLIS);
+                return new Result(!Boolean.TRUE.equals(result.get("present")), Boolean.TRUE.equals(result.get("settled")));
+            } catch (WebDriverException e) {
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+
+    private static boolean clientSideAbsent(WebDriver driver, By locator) {
+        for (WebElement element : driver.findElements(locator)) {
+            if (element.isDisplayed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Result(boolean absent, boolean settled) {
+    }
+}
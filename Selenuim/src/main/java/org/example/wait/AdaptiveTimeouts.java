@@ -0,0 +1,209 @@
+package org.example.wait;
+
+import org.example.config.Config;
+import org.example.config.SwagLabs;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wait timeouts learned from how long each {@link DomCondition} actually took, per application
+ * host, user and locator, instead of one fixed number per test class.
+ * <ul>
+ *     <li>{@code waits.adaptive.enabled} - record wait times and apply learned timeouts
+ *     (default {@code false}); when off nothing is recorded and the history is not touched</li>
+ *     <li>{@code waits.adaptive.percentile} - percentile of the samples used (default {@code 99})</li>
+ *     <li>{@code waits.adaptive.factor} - headroom multiplied onto it (default {@code 2.0})</li>
+ *     <li>{@code waits.adaptive.floorMs} - lower bound of a learned timeout (default {@code 1000})</li>
+ *     <li>{@code waits.adaptive.ceilingMs} - upper bound of a learned timeout (default
+ *     {@code 60000})</li>
+ *     <li>{@code waits.adaptive.minSamples} - samples needed before a key is trusted (default {@code 5})</li>
+ *     <li>{@code waits.adaptive.history} - sample store (default
+ *     {@code ~/.cache/selenuim/wait-timeouts.json})</li>
+ * </ul>
+ * The timeout a test asks for is only a fallback, used until its key has enough samples; after
+ * that the learned timeout applies, shorter or longer than the requested one, up to the
+ * global ceiling. Only waits that succeeded are recorded: a timeout says nothing about how
+ * long the condition takes, and recording it at the timeout it was given would ratchet the
+ * learned timeout upwards. The user is whoever the current thread last
+ * {@linkplain #actingAs(String) acted as}.
+ */
+public final class AdaptiveTimeouts {
+
+    public static final String ENABLED_PROPERTY = "waits.adaptive.enabled";
+    public static final String PERCENTILE_PROPERTY = "waits.adaptive.percentile";
+    public static final String FACTOR_PROPERTY = "waits.adaptive.factor";
+    public static final String FLOOR_PROPERTY = "waits.adaptive.floorMs";
+    public static final String CEILING_PROPERTY = "waits.adaptive.ceilingMs";
+    public static final String MIN_SAMPLES_PROPERTY = "waits.adaptive.minSamples";
+    public static final String HISTORY_PROPERTY = "waits.adaptive.history";
+
+    // Samples kept per key; older ones are dropped so the timeout follows the application
+    private static final int MAX_SAMPLES = 200;
+    // A learned timeout that moves by more than this fraction between runs is reported
+    private static final double REPORT_CHANGE = 0.25;
+    private static final String ANONYMOUS = "(anonymous)";
+
+    private static final boolean ENABLED = Config.flag(ENABLED_PROPERTY, false);
+    private static final int PERCENTILE = Config.integer(PERCENTILE_PROPERTY, 99);
+    private static final double FACTOR = Double.parseDouble(Config.string(FACTOR_PROPERTY, "2.0"));
+    private static final long FLOOR_MS = Config.integer(FLOOR_PROPERTY, 1_000);
+    private static final long CEILING_MS = Config.integer(CEILING_PROPERTY, 60_000);
+    private static final int MIN_SAMPLES = Config.integer(MIN_SAMPLES_PROPERTY, 5);
+    private static final Path HISTORY = Path.of(Config.string(HISTORY_PROPERTY,
+            Path.of(System.getProperty("user.home"), ".cache", "selenuim", "wait-timeouts.json").toString()));
+
+    private static final ThreadLocal<String> USER = new ThreadLocal<>();
+    private static final Map<String, Samples> SAMPLES = new ConcurrentHashMap<>();
+    private static final Map<String, Long> LEARNED_AT_START = new TreeMap<>();
+
+    static {
+        if (ENABLED) {
+            load();
+        }
+    }
+
+    private AdaptiveTimeouts() {
+    }
+
+    /**
+     * Attributes the current thread's waits to {@code username} until the next call or
+     * {@link #reset()}.
+     */
+    public static void actingAs(String username) {
+        USER.set(username == null || username.isEmpty() ? ANONYMOUS : username);
+    }
+
+    public static void reset() {
+        USER.remove();
+    }
+
+    /**
+     * The timeout to use for {@code condition}: the learned one, bounded by
+     * {@code waits.adaptive.ceilingMs}, when enabled and known; otherwise the fallback
+     * {@code requested}.
+     */
+    static Duration timeoutFor(DomCondition<?> condition, Duration requested) {
+        if (!ENABLED) {
+            return requested;
+        }
+        Samples samples = SAMPLES.get(key(condition));
+        Long learned = samples == null ? null : samples.timeoutMs();
+        if (learned == null) {
+            return requested;
+        }
+        return Duration.ofMillis(Math.min(learned, CEILING_MS));
+    }
+
+    /**
+     * Records how long a successful wait for {@code condition} took.
+     */
+    static void record(DomCondition<?> condition, long millis) {
+        if (!ENABLED) {
+            return;
+        }
+        SAMPLES.computeIfAbsent(key(condition), ignored -> new Samples()).add(millis);
+    }
+
+    /**
+     * Writes the samples back to the history file and returns one line for every learned
+     * timeout that appeared or moved by more than {@value #REPORT_CHANGE} of its old value.
+     * Does nothing when disabled.
+     */
+    public static List<String> save() {
+        if (!ENABLED) {
+            return List.of();
+        }
+        Map<String, List<Long>> json = new TreeMap<>();
+        List<String> changes = new ArrayList<>();
+        new TreeMap<>(SAMPLES).forEach((key, samples) -> {
+            json.put(key, Arrays.stream(samples.snapshot()).boxed().toList());
+            Long now = samples.timeoutMs();
+            Long before = LEARNED_AT_START.get(key);
+            if (now != null && (before == null || Math.abs(now - before) > before * REPORT_CHANGE)) {
+                changes.add(key + ": " + (before == null ? "new" : before + " ms") + " -> " + now + " ms");
+            }
+        });
+        try {
+            Path parent = HISTORY.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(HISTORY, new Json().toJson(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write wait timeouts to " + HISTORY, e);
+        }
+        return changes;
+    }
+
+    private static void load() {
+        if (!Files.isRegularFile(HISTORY)) {
+            return;
+        }
+        try {
+            Map<String, Object> json = new Json().toType(Files.readString(HISTORY), Json.MAP_TYPE);
+            json.forEach((key, values) -> {
+                Samples samples = new Samples();
+                ((List<?>) values).forEach(value -> samples.add(((Number) value).longValue()));
+                SAMPLES.put(key, samples);
+                Long learned = samples.timeoutMs();
+                if (learned != null) {
+                    LEARNED_AT_START.put(key, learned);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read wait timeouts from " + HISTORY, e);
+        } catch (RuntimeException e) {
+            System.err.println("Ignoring unreadable wait timeout history " + HISTORY + ": " + e.getMessage());
+            SAMPLES.clear();
+            LEARNED_AT_START.clear();
+        }
+    }
+
+    private static String key(DomCondition<?> condition) {
+        String host = Objects.requireNonNullElse(URI.create(SwagLabs.baseUrl()).getHost(), "local");
+        return host + " " + Objects.requireNonNullElse(USER.get(), ANONYMOUS) + " " + condition.key();
+    }
+
+    private static final class Samples {
+        private final long[] values = new long[MAX_SAMPLES];
+        private int next;
+        private int count;
+
+        synchronized void add(long millis) {
+            values[next] = millis;
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+        }
+
+        synchronized long[] snapshot() {
+            long[] ordered = new long[count];
+            for (int i = 0; i < count; i++) {
+                ordered[i] = values[(next - count + i + MAX_SAMPLES) % MAX_SAMPLES];
+            }
+            return ordered;
+        }
+
+        Long timeoutMs() {
+            long[] sorted = snapshot();
+            if (sorted.length < MIN_SAMPLES) {
+                return null;
+            }
+            Arrays.sort(sorted);
+            long percentile = sorted[Math.max(0, (int) Math.ceil(PERCENTILE / 100.0 * sorted.length) - 1)];
+            return Math.max(FLOOR_MS, Math.round(percentile * FACTOR));
+        }
+    }
+}
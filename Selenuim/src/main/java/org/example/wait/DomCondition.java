@@ -0,0 +1,83 @@
+package org.example.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A wait condition that {@link ObserverWait} can resolve inside the page with a single async
+ * script call. It is still a regular {@link ExpectedCondition}: any other wait (or a locator
+ * the page cannot evaluate) falls back to the equivalent client-side polling condition.
+ * Create instances through {@link DomConditions}.
+ */
+public final class DomCondition<T> implements ExpectedCondition<T> {
+
+    enum Kind { VISIBLE, CLICKABLE, TEXT, COUNT, ABSENT }
+
+    private static final Set<String> IN_PAGE_STRATEGIES = Set.of("css selector", "xpath");
+
+    private final Kind kind;
+    private final By locator;
+    private final Object expected;
+    private final ExpectedCondition<T> fallback;
+
+    DomCondition(Kind kind, By locator, Object expected, ExpectedCondition<T> fallback) {
+        this.kind = kind;
+        this.locator = locator;
+        this.expected = expected;
+        this.fallback = fallback;
+    }
+
+    public By locator() {
+        return locator;
+    }
+
+    /**
+     * What the condition waits for, e.g. {@code VISIBLE By.id: login-button}, without the
+     * expected value so that all texts or counts of one locator share their timings.
+     */
+    String key() {
+        return kind + " " + locator;
+    }
+
+    @Override
+    public T apply(WebDriver driver) {
+        return fallback.apply(driver);
+    }
+
+    /**
+     * The arguments for the in-page observer, or {@code null} when the locator strategy can
+     * only be evaluated by the driver (link text, tag name, custom locators).
+     */
+    Map<String, Object> spec() {
+        if (!(locator instanceof By.Remotable remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        if (!IN_PAGE_STRATEGIES.contains(parameters.using())) {
+            return null;
+        }
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("kind", kind.name());
+        spec.put("using", parameters.using());
+        spec.put("value", String.valueOf(parameters.value()));
+        if (expected != null) {
+            spec.put("expected", expected);
+        }
+        return spec;
+    }
+
+    @SuppressWarnings("unchecked")
+    T convert(Object value) {
+        return (T) (kind == Kind.TEXT || kind == Kind.ABSENT ? Boolean.TRUE : value);
+    }
+
+    @Override
+    public String toString() {
+        return fallback.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.List;
+
+/**
+ * Drop-in counterparts of the {@link ExpectedConditions} factories the suite uses, resolved
+ * in the browser by a MutationObserver when passed to an {@link ObserverWait}.
+ */
+public final class DomConditions {
+
+    private DomConditions() {
+    }
+
+    public static DomCondition<WebElement> visibilityOfElementLocated(By locator) {
+        return new DomCondition<>(DomCondition.Kind.VISIBLE, locator, null,
+                ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    public static DomCondition<WebElement> elementToBeClickable(By locator) {
+        return new DomCondition<>(DomCondition.Kind.CLICKABLE, locator, null,
+                ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    public static DomCondition<Boolean> textToBe(By locator, String text) {
+        return new DomCondition<>(DomCondition.Kind.TEXT, locator, text,
+                ExpectedConditions.textToBe(locator, text));
+    }
+
+    public static DomCondition<List<WebElement>> numberOfElementsToBe(By locator, int count) {
+        return new DomCondition<>(DomCondition.Kind.COUNT, locator, count,
+                ExpectedConditions.numberOfElementsToBe(locator, count));
+    }
+
+    /**
+     * Satisfied when no element matching {@code locator} is visible, including when none exist.
+     */
+    public static DomCondition<Boolean> invisibilityOfElementLocated(By locator) {
+        return new DomCondition<>(DomCondition.Kind.ABSENT, locator, null,
+                ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+}
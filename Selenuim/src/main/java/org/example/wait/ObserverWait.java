@@ -0,0 +1,148 @@
+package org.example.wait;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link TimedWait} that resolves {@link DomCondition}s in the browser instead of
+ * polling from the client.
+ * <p>
+ * One async script installs a MutationObserver, re-checks the condition on every DOM change
+ * (plus a short in-page timer for style-only changes the observer cannot see) and answers as
+ * soon as it holds, so there is no 500 ms polling gap and no stream of findElement calls. If
+ * the page navigates away mid-wait the script is simply re-armed on the new document until the
+ * deadline. Any other error - an invalid selector, a script error, a dead session - is
+ * thrown straight away rather than retried into a timeout. Any other condition is handed to
+ * the regular polling implementation.
+ * <p>
+ * The session's script timeout is raised to cover the wait; {@link org.example.driver.DriverPool}
+ * puts it back when the session is returned.
+ */
+public class ObserverWait extends TimedWait {
+
+    private static final Duration SCRIPT_TIMEOUT_SLACK = Duration.ofSeconds(2);
+    private static final Duration RETRY_PAUSE = Duration.ofMillis(50);
+
+    private static final String OBSERVE_SCRIPT = PageScripts.VISIBLE_FUNCTION + PageScripts.FIND_FUNCTION
+            + "var spec = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];"
+            + "var textOf = function (el) {"
+            + "  return (el.innerText !== undefined ? el.innerText : el.textContent).replace(/\\s+/g, ' ').trim();"
+            + "};"
+            + "var check = function () {"
+            + "  var nodes = find(spec.using, spec.value);"
+            + "  var i;"
+            + "  switch (spec.kind) {"
+            + "    case 'VISIBLE':"
+            + "      for (i = 0; i < nodes.length; i++) { if (visible(nodes[i])) { return { value: nodes[i] }; } }"
+            + "      return null;"
+            + "    case 'CLICKABLE':"
+            + "      for (i = 0; i < nodes.length; i++) {"
+            + "        if (visible(nodes[i]) && !nodes[i].disabled) { return { value: nodes[i] }; }"
+            + "      }"
+            + "      return null;"
+            + "    case 'TEXT':"
+            + "      return nodes.length > 0 && textOf(nodes[0]) === spec.expected ? { value: true } : null;"
+            + "    case 'COUNT':"
+            + "      return nodes.length === spec.expected ? { value: nodes } : null;"
+            + "    case 'ABSENT':"
+            + "      for (i = 0; i < nodes.length; i++) { if (visible(nodes[i])) { return null; } }"
+            + "      return { value: true };"
+            + "  }"
+            + "  return null;"
+            + "};"
+            + "var initial = check();"
+            + "if (initial) { done({ ok: true, value: initial.value }); return; }"
+            + "var finished = false, observer, ticker, timer;"
+            + "var finish = function (result) {"
+            + "  if (finished) { return; }"
+            + "  finished = true;"
+            + "  observer.disconnect(); clearInterval(ticker); clearTimeout(timer);"
+            + "  done(result);"
+            + "};"
+            + "var recheck = function () {"
+            + "  var result = check();"
+            + "  if (result) { finish({ ok: true, value: result.value }); }"
+            + "};"
+            + "observer = new MutationObserver(recheck);"
+            + "observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "ticker = setInterval(recheck, 100);"
+            + "timer = setTimeout(function () { finish({ ok: false }); }, timeoutMs);";
+
+    private Duration scriptTimeout;
+
+    public ObserverWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <V> V resolve(Function<? super WebDriver, V> isTrue) {
+        if (isTrue instanceof DomCondition<?> condition) {
+            Map<String, Object> spec = condition.spec();
+            if (spec != null) {
+                return (V) awaitInPage(condition, spec);
+            }
+        }
+        return super.resolve(isTrue);
+    }
+
+    private <T> T awaitInPage(DomCondition<T> condition, Map<String, Object> spec) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        WebDriverException lastError = null;
+        while (true) {
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw timeoutException("Expected condition failed: waiting for " + condition
+                        + " (tried for " + timeout.toMillis() + " ms with an in-page observer)", lastError);
+            }
+            ensureScriptTimeout();
+            try {
+                Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) input).executeAsyncScript(OBSERVE_SCRIPT, spec, remainingMillis);
+                if (Boolean.TRUE.equals(result.get("ok"))) {
+                    return condition.convert(result.get("value"));
+                }
+            } catch (ScriptTimeoutException | StaleElementReferenceException e) {
+                lastError = e;
+                pause();
+            } catch (JavascriptException e) {
+                if (!isUnload(e)) {
+                    throw e;
+                }
+                // The document was unloaded by a navigation; re-arm on the new page.
+                lastError = e;
+                pause();
+            }
+        }
+    }
+
+    private void ensureScriptTimeout() {
+        Duration needed = timeout.plus(SCRIPT_TIMEOUT_SLACK);
+        if (scriptTimeout == null || scriptTimeout.compareTo(needed) < 0) {
+            input.manage().timeouts().scriptTimeout(needed);
+            scriptTimeout = needed;
+        }
+    }
+
+    private static boolean isUnload(JavascriptException e) {
+        String message = e.getRawMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains("unloaded");
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(RETRY_PAUSE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
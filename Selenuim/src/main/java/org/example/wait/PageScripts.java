@@ -0,0 +1,97 @@
+package org.example.wait;
+
+/**
+ * JavaScript fragments shared by the scripts that evaluate page state in the browser.
+ */
+public final class PageScripts {
+
+    /**
+     * Defines {@code visible(el)}, an in-page approximation of WebDriver's {@code isDisplayed()}:
+     * the element is attached, neither it nor an ancestor is {@code display:none} or fully
+     * transparent, it is not {@code visibility:hidden}, and it has a non-empty box.
+     */
+    public static final String VISIBLE_FUNCTION =
+            "var visible = function (el) {"
+                    + "  if (!el || !document.documentElement.contains(el)) { return false; }"
+                    + "  for (var node = el; node && node.nodeType === 1; node = node.parentElement) {"
+                    + "    var style = window.getComputedStyle(node);"
+                    + "    if (style.display === 'none' || style.opacity === '0') { return false; }"
+                    + "  }"
+                    + "  if (window.getComputedStyle(el).visibility !== 'visible') { return false; }"
+                    + "  var box = el.getBoundingClientRect();"
+                    + "  return box.width > 0 && box.height > 0;"
+                    + "};";
+
+    /**
+     * Defines {@code find(using, value)}, returning every element matched by a W3C
+     * {@code css selector} or {@code xpath} locator as an array.
+     */
+    public static final String FIND_FUNCTION =
+            "var find = function (using, value) {"
+                    + "  if (using === 'xpath') {"
+                    + "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "    var nodes = [];"
+                    + "    for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }"
+                    + "    return nodes;"
+                    + "  }"
+                    + "  return Array.prototype.slice.call(document.querySelectorAll(value));"
+                    + "};";
+
+    /**
+     * Defines {@code whenReady(maxMs, quietMs, callback)}, which calls
+     * {@code callback(settled, elapsedMs)} once the document has finished loading, no
+     * XHR/fetch request is in flight, no animation is running and the DOM has not changed for
+     * {@code quietMs} - or after {@code maxMs} with {@code settled = false}. Request tracking
+     * hooks are installed on first use per document, so only requests started after that are
+     * seen; anything earlier is covered by the readyState and DOM-quiet checks.
+     */
+    public static final String WHEN_READY_FUNCTION =
+            "var whenReady = function (maxMs, quietMs, callback) {"
+                    + "  var w = window;"
+                    + "  if (w.__pendingRequests === undefined) {"
+                    + "    w.__pendingRequests = 0;"
+                    + "    var done = function () { w.__pendingRequests = Math.max(0, w.__pendingRequests - 1); };"
+                    + "    var send = XMLHttpRequest.prototype.send;"
+                    + "    XMLHttpRequest.prototype.send = function () {"
+                    + "      w.__pendingRequests++;"
+                    + "      this.addEventListener('loadend', done);"
+                    + "      return send.apply(this, arguments);"
+                    + "    };"
+                    + "    if (w.fetch) {"
+                    + "      var fetch = w.fetch;"
+                    + "      w.fetch = function () {"
+                    + "        w.__pendingRequests++;"
+                    + "        return fetch.apply(this, arguments).then("
+                    + "          function (response) { done(); return response; },"
+                    + "          function (error) { done(); throw error; });"
+                    + "      };"
+                    + "    }"
+                    + "  }"
+                    + "  var animating = function () {"
+                    + "    if (!document.getAnimations) { return false; }"
+                    + "    var animations = document.getAnimations();"
+                    + "    for (var i = 0; i < animations.length; i++) {"
+                    + "      if (animations[i].playState === 'running') { return true; }"
+                    + "    }"
+                    + "    return false;"
+                    + "  };"
+                    + "  var start = Date.now(), lastChange = start;"
+                    + "  var observer = new MutationObserver(function () { lastChange = Date.now(); });"
+                    + "  observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true, characterData: true });"
+                    + "  var tick = function () {"
+                    + "    var now = Date.now();"
+                    + "    var settled = document.readyState === 'complete' && w.__pendingRequests === 0"
+                    + "        && !animating() && now - lastChange >= quietMs;"
+                    + "    if (settled || now - start >= maxMs) {"
+                    + "      observer.disconnect();"
+                    + "      callback(settled, now - start);"
+                    + "    } else {"
+                    + "      setTimeout(tick, 10);"
+                    + "    }"
+                    + "  };"
+                    + "  tick();"
+                    + "};";
+
+    private PageScripts() {
+    }
+}
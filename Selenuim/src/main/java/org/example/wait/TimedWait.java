@@ -0,0 +1,79 @@
+package org.example.wait;
+
+import org.example.metrics.CommandMetrics;
+import org.example.trace.Tracer;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link WebDriverWait} that reports how long each {@code until} took to
+ * {@link CommandMetrics} as a {@code wait}, tagged with the locator of a {@link DomCondition}.
+ * Waits for a {@link DomCondition} also run under the timeout {@link AdaptiveTimeouts} has
+ * learned for it, and successful ones feed their duration back. Every wait is also a
+ * {@code wait} span of the {@link Tracer} timeline, with its locator, timeout and whether it
+ * timed out. Subclasses change how conditions are resolved by overriding {@link #resolve}.
+ */
+public class TimedWait extends WebDriverWait {
+
+    private final Duration requestedTimeout;
+
+    public TimedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+        this.requestedTimeout = timeout;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        if (!(isTrue instanceof DomCondition<?> condition)) {
+            return traced(null, requestedTimeout, () -> CommandMetrics.time("wait", null, () -> resolve(isTrue)));
+        }
+        Duration applied = AdaptiveTimeouts.timeoutFor(condition, requestedTimeout);
+        withTimeout(applied);
+        long start = System.nanoTime();
+        try {
+            V value = traced(condition.locator().toString(), applied,
+                    () -> CommandMetrics.time("wait", condition.locator().toString(), () -> resolve(isTrue)));
+            AdaptiveTimeouts.record(condition, (System.nanoTime() - start) / 1_000_000);
+            return value;
+        } catch (TimeoutException e) {
+            if (!applied.equals(requestedTimeout)) {
+                e.addInfo("Adaptive timeout", applied.toMillis() + " ms (fallback " + requestedTimeout.toMillis()
+                        + " ms, see " + AdaptiveTimeouts.ENABLED_PROPERTY + ")");
+            }
+            throw e;
+        } finally {
+            withTimeout(requestedTimeout);
+        }
+    }
+
+    protected <V> V resolve(Function<? super WebDriver, V> isTrue) {
+        return super.until(isTrue);
+    }
+
+    private static <V> V traced(String locator, Duration timeout, Supplier<V> body) {
+        if (!Tracer.enabled()) {
+            return body.get();
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (locator != null) {
+            details.put("locator", locator);
+        }
+        details.put("timeoutMs", timeout.toMillis());
+        long start = Tracer.now();
+        try {
+            return body.get();
+        } catch (TimeoutException e) {
+            details.put("timedOut", true);
+            throw e;
+        } finally {
+            Tracer.complete("wait", "wait", start, details);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Client-side behaviour of the local Swag Labs v1 replica. Like the original app the
+ * session lives in the "session-username" cookie and the cart in localStorage under
+ * "cart-contents" (a JSON array of product ids). Plain ES5 so simple HTML engines run it.
+ */
+(function () {
+    var USERS = ["standard_user", "locked_out_user", "problem_user", "performance_glitch_user"];
+    var PASSWORD = "secret_sauce";
+    var CART_KEY = "cart-contents";
+    var TAX_RATE = 0.08;
+
+    function byClass(name, root) {
+        return (root || document).getElementsByClassName(name);
+    }
+
+    function first(name, root) {
+        return byClass(name, root)[0];
+    }
+
+    function catalog() {
+        return window.SWAG_CATALOG || {};
+    }
+
+    function readCart() {
+        try {
+            var ids = JSON.parse(window.localStorage.getItem(CART_KEY) || "[]");
+            return ids instanceof Array ? ids : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function writeCart(ids) {
+        if (ids.length === 0) {
+            window.localStorage.removeItem(CART_KEY);
+        } else {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(ids));
+        }
+        updateBadge();
+    }
+
+    function updateBadge() {
+        var link = first("shopping_cart_link");
+        if (!link) {
+            return;
+        }
+        var badge = first("shopping_cart_badge", link);
+        var count = readCart().length;
+        if (count === 0) {
+            if (badge) {
+                link.removeChild(badge);
+            }
+            return;
+        }
+        if (!badge) {
+            badge = document.createElement("span");
+            badge.className = "fa-layers-counter shopping_cart_badge";
+            link.appendChild(badge);
+        }
+        badge.textContent = String(count);
+    }
+
+    function showError(container, message) {
+        var error = container.querySelector("h3[data-test='error']");
+        if (!error) {
+            error = document.createElement("h3");
+            error.setAttribute("data-test", "error");
+            container.appendChild(error);
+        }
+        error.innerHTML = "";
+        var close = document.createElement("button");
+        close.className = "error-button";
+        close.textContent = "x";
+        close.onclick = function () {
+            container.removeChild(error);
+        };
+        error.appendChild(close);
+        error.appendChild(document.createTextNode(message));
+    }
+
+    function logout() {
+        document.cookie = "session-username=; expires=Thu, 01 Jan 1970 00:00:00 GMT; path=/";
+        window.localStorage.removeItem(CART_KEY);
+    }
+
+    function initLogin() {
+        var form = document.getElementById("login_form");
+        if (!form) {
+            return;
+        }
+        form.onsubmit = function () {
+            var username = document.getElementById("user-name").value;
+            var password = document.getElementById("password").value;
+            var box = first("login-box");
+            if (!username) {
+                showError(box, "Epic sadface: Username is required");
+            } else if (!password) {
+                showError(box, "Epic sadface: Password is required");
+            } else if (username === "locked_out_user" && password === PASSWORD) {
+                showError(box, "Epic sadface: Sorry, this user has been locked out.");
+            } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                showError(box, "Epic sadface: Username and password do not match any user in this service");
+            } else {
+                document.cookie = "session-username=" + username + "; path=/";
+                window.location.href = "./inventory.html";
+            }
+            return false;
+        };
+    }
+
+    function initMenu() {
+        var burger = first("bm-burger-button");
+        var menu = first("bm-menu-wrap");
+        if (!burger || !menu) {
+            return;
+        }
+        burger.getElementsByTagName("button")[0].onclick = function () {
+            menu.style.display = "block";
+            menu.setAttribute("aria-hidden", "false");
+        };
+        first("bm-cross-button").getElementsByTagName("button")[0].onclick = function () {
+            menu.style.display = "none";
+            menu.setAttribute("aria-hidden", "true");
+        };
+        document.getElementById("logout_sidebar_link").onclick = logout;
+        document.getElementById("reset_sidebar_link").onclick = function () {
+            writeCart([]);
+            refreshInventoryButtons();
+            return false;
+        };
+    }
+
+    function refreshInventoryButtons() {
+        var cart = readCart();
+        var buttons = byClass("btn_inventory");
+        for (var i = 0; i < buttons.length; i++) {
+            var inCart = cart.indexOf(Number(buttons[i].getAttribute("data-item-id"))) >= 0;
+            buttons[i].className = inCart ? "btn_secondary btn_inventory" : "btn_primary btn_inventory";
+            buttons[i].textContent = inCart ? "REMOVE" : "ADD TO CART";
+        }
+    }
+
+    function initInventoryButtons() {
+        var buttons = byClass("btn_inventory");
+        for (var i = 0; i < buttons.length; i++) {
+            buttons[i].onclick = function () {
+                var id = Number(this.getAttribute("data-item-id"));
+                var cart = readCart();
+                var index = cart.indexOf(id);
+                if (index >= 0) {
+                    cart.splice(index, 1);
+                } else {
+                    cart.push(id);
+                }
+                writeCart(cart);
+                refreshInventoryButtons();
+            };
+        }
+        refreshInventoryButtons();
+    }
+
+    function initSort() {
+        var select = first("product_sort_container");
+        var list = first("inventory_list");
+        if (!select || !list) {
+            return;
+        }
+        select.onchange = function () {
+            var items = [];
+            var nodes = byClass("inventory_item", list);
+            for (var i = 0; i < nodes.length; i++) {
+                items.push(nodes[i]);
+            }
+            var order = select.value;
+            items.sort(function (a, b) {
+                if (order === "lohi" || order === "hilo") {
+                    var diff = Number(a.getAttribute("data-price")) - Number(b.getAttribute("data-price"));
+                    return order === "lohi" ? diff : -diff;
+                }
+                var nameA = a.getAttribute("data-name");
+                var nameB = b.getAttribute("data-name");
+                var cmp = nameA < nameB ? -1 : (nameA > nameB ? 1 : 0);
+                return order === "za" ? -cmp : cmp;
+            });
+            for (var j = 0; j < items.length; j++) {
+                list.appendChild(items[j]);
+            }
+        };
+    }
+
+    function renderCartItems(list, removable) {
+        var cart = readCart();
+        var products = catalog();
+        var total = 0;
+        for (var i = 0; i < cart.length; i++) {
+            var product = products[cart[i]];
+            if (!product) {
+                continue;
+            }
+            total += product.price;
+            var item = document.createElement("div");
+            item.className = "cart_item";
+            item.innerHTML = "<div class=\"cart_quantity\">1</div>"
+                + "<div class=\"cart_item_label\">"
+                + "<a href=\"./inventory-item.html?id=" + product.id + "\" id=\"item_" + product.id + "_title_link\">"
+                + "<div class=\"inventory_item_name\"></div></a>"
+                + "<div class=\"inventory_item_desc\"></div>"
+                + "<div class=\"item_pricebar\"><div class=\"inventory_item_price\">" + product.price + "</div></div>"
+                + "</div>";
+            first("inventory_item_name", item).textContent = product.name;
+            first("inventory_item_desc", item).textContent = product.desc;
+            if (removable) {
+                var remove = document.createElement("button");
+                remove.className = "btn_secondary cart_button";
+                remove.textContent = "REMOVE";
+                remove.setAttribute("data-item-id", String(product.id));
+                remove.onclick = function () {
+                    var ids = readCart();
+                    ids.splice(ids.indexOf(Number(this.getAttribute("data-item-id"))), 1);
+                    writeCart(ids);
+                    var row = this.parentNode.parentNode.parentNode;
+                    row.parentNode.removeChild(row);
+                };
+                first("item_pricebar", item).appendChild(remove);
+            }
+            list.appendChild(item);
+        }
+        return total;
+    }
+
+    function initCart() {
+        var container = document.getElementById("cart_contents_container");
+        if (container) {
+            renderCartItems(first("cart_list", container), true);
+        }
+    }
+
+    function initCheckoutStepOne() {
+        var form = document.getElementById("checkout_info_form");
+        if (!form) {
+            return;
+        }
+        form.onsubmit = function () {
+            var info = first("checkout_info");
+            if (!document.getElementById("first-name").value) {
+                showError(info, "Error: First Name is required");
+            } else if (!document.getElementById("last-name").value) {
+                showError(info, "Error: Last Name is required");
+            } else if (!document.getElementById("postal-code").value) {
+                showError(info, "Error: Postal Code is required");
+            } else {
+                window.location.href = "./checkout-step-two.html";
+            }
+            return false;
+        };
+    }
+
+    function initCheckoutStepTwo() {
+        var container = document.getElementById("checkout_summary_container");
+        if (!container) {
+            return;
+        }
+        var subtotal = renderCartItems(first("cart_list", container), false);
+        var tax = Math.round(subtotal * TAX_RATE * 100) / 100;
+        first("summary_subtotal_label").textContent = "Item total: $" + Math.round(subtotal * 100) / 100;
+        first("summary_tax_label").textContent = "Tax: $" + tax.toFixed(2);
+        first("summary_total_label").textContent = "Total: $" + (subtotal + tax).toFixed(2);
+        first("cart_button", container).onclick = function () {
+            writeCart([]);
+        };
+    }
+
+    function initBackButton() {
+        var back = document.getElementById("back-to-products");
+        if (back) {
+            back.onclick = function () {
+                window.location.href = "./inventory.html";
+            };
+        }
+    }
+
+    function init() {
+        initLogin();
+        initMenu();
+        initInventoryButtons();
+        initSort();
+        initCart();
+        initCheckoutStepOne();
+        initCheckoutStepTwo();
+        initBackButton();
+        updateBadge();
+    }
+
+    if (document.readyState === "loading") {
+        document.addEventListener("DOMContentLoaded", init);
+    } else {
+        init();
+    }
+})();
@@ -1,149 +1,86 @@
 // Abdullah Mohamed Megahed (Checkout Process Testing)
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
+import org.example.driver.DriverContext;
+import org.example.driver.Engine;
+import org.example.driver.MinimumEngine;
+import org.example.pages.AppPage;
+import org.example.pages.CartPage;
+import org.example.pages.CheckoutCompletePage;
+import org.example.pages.CheckoutInformationPage;
+import org.example.pages.CheckoutOverviewPage;
+import org.example.pages.InventoryPage;
+import org.example.session.CheckoutFixtures;
+import org.example.session.SessionBootstrap;
+import org.example.wait.Absence;
 import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
-import java.util.List;
 
-public class Check_Out {
-
-    private WebDriver driver;
-    private WebDriverWait wait;
-    private final By usernameField = By.xpath("//input[@id='user-name']");
-    private final By passwordField = By.xpath("//input[@id='password']");
-    private final By loginButton = By.xpath("//input[@id='login-button']");
-    private final By inventoryList = By.xpath("//div[@class='inventory_list']");
-    private final By shoppingCartLink = By.xpath("//div[@id='shopping_cart_container']");
-    private final By shoppingCartBadge = By.xpath("//span[@class='fa-layers-counter shopping_cart_badge']");
-    private final By genericAddToCartButton = By.xpath("(//button[contains(@class, 'btn_inventory') and (normalize-space()='ADD TO CART' or normalize-space()='Add to cart')])[1]");
-    private final By checkoutButton = By.xpath("//a[@class='btn_action checkout_button' and text()='CHECKOUT']");
-    private final By cartItem = By.xpath("//div[@class='cart_item']");
-    private final By firstNameField = By.xpath("//input[@id='first-name']");
-    private final By lastNameField = By.xpath("//input[@id='last-name']");
-    private final By postalCodeField = By.xpath("//input[@id='postal-code']");
-    private final By continueButton = By.xpath("//input[@class='btn_primary cart_button' and @value='CONTINUE']");
-    private final By cancelCheckoutStepOneButton = By.xpath("//a[@class='cart_cancel_link btn_secondary' and text()='CANCEL']");
-    private final By checkoutStepOneErrorMessage = By.xpath("//h3[@data-test='error']");
-    private final By finishButton = By.xpath("//a[@class='btn_action cart_button' and text()='FINISH']");
-    private final By summarySubtotalLabel = By.xpath("//div[@class='summary_subtotal_label']");
-    private final By summaryTaxLabel = By.xpath("//div[@class='summary_tax_label']");
-    private final By summaryTotalLabel = By.xpath("//div[@class='summary_total_label']");
-    private final By completeHeader = By.xpath("//h2[@class='complete-header']");
-    private final By completeText = By.xpath("//div[@class='complete-text']");
-    private final By backHomeButton = By.xpath("//h2[@class='complete-header' and text()='THANK YOU FOR YOUR ORDER']");
+import static org.example.driver.DriverContext.driver;
+import static org.example.driver.DriverContext.waiter;
 
+public class Check_Out {
 
     @BeforeMethod
-    public void setUp() {
-        WebDriverManager.edgedriver().setup();
-        driver = new EdgeDriver();
-        driver.manage().window().maximize();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        String BASE_URL = "https://www.saucedemo.com/v1/";
-        driver.get(BASE_URL);
-        performLogin();
-        Assert.assertTrue(isElementDisplayed(inventoryList), "Login failed, inventory not visible. Check BASE_URL if page doesn't load.");
-    }
-
-    private void performLogin() {
-        findElementWithWait(usernameField).sendKeys("standard_user");
-        findElementWithWait(passwordField).sendKeys("secret_sauce");
-        clickElementWithWait(loginButton);
-    }
-
-    private WebElement findElementWithWait(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+    public void setUp(Method method) {
+        DriverContext.open(Duration.ofSeconds(10), Engine.forTest(method));
+        SessionBootstrap.loginAs(driver(), "standard_user");
+        Assert.assertTrue(inventory().isOpen(), "Login failed, inventory not visible. Check BASE_URL if page doesn't load.");
     }
 
-    private void clickElementWithWait(By locator) {
-        wait.until(ExpectedConditions.elementToBeClickable(locator)).click();
+    private InventoryPage inventory() {
+        return new InventoryPage(driver(), waiter());
     }
 
-    private boolean isElementDisplayed(By locator) {
+    private InventoryPage addProductToCart(String productName) {
+        InventoryPage inventory = inventory();
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator)).isDisplayed();
-        } catch (TimeoutException e) {
-            return false;
-        }
-    }
-
-    private String addToCartButtonXPathByName(String productName) {
-        return String.format("//div[@class='inventory_item_name' and text()='%s']/ancestor::div[@class='inventory_item']//button[contains(@class, 'btn_inventory') and (starts-with(normalize-space(.), 'Add to cart') or starts-with(normalize-space(.), 'ADD TO CART'))]", productName);
-    }
-
-    private void addProductToCart(String productName) {
-        By productAddToCartButton = By.xpath(addToCartButtonXPathByName(productName));
-        try {
-            clickElementWithWait(productAddToCartButton);
+            inventory.addToCart(productName);
             System.out.println("Added '" + productName + "' to cart.");
         } catch (TimeoutException e) {
             System.err.println("Could not find add to cart button for: " + productName + ". Trying generic add.");
-            clickElementWithWait(genericAddToCartButton);
+            inventory.addFirstAvailableToCart();
             System.out.println("Added a generic item to cart as fallback.");
         }
-        // Uses the user-updated shoppingCartBadge locator
-        Assert.assertTrue(isElementDisplayed(shoppingCartBadge), "Shopping cart badge not visible after adding item.");
+        Assert.assertTrue(inventory.isCartBadgeShowing(), "Shopping cart badge not visible after adding item.");
+        return inventory;
     }
 
-    private void proceedToCheckoutInformationStep() {
-        clickElementWithWait(shoppingCartLink);
-        Assert.assertTrue(isElementDisplayed(cartItem), "No items visible in the cart page.");
-
-        // Uses the user-updated checkoutButton locator
-        clickElementWithWait(checkoutButton);
-        Assert.assertTrue(isElementDisplayed(firstNameField), "Not on Checkout Step One page (First Name field not found).");
-    }
+    private CheckoutInformationPage proceedToCheckoutInformationStep(InventoryPage inventory) {
+        CartPage cart = inventory.openCart();
+        Assert.assertFalse(cart.items().isEmpty(), "No items visible in the cart page.");
 
-    private void fillShippingInformation(String firstName, String lastName, String postalCode) {
-        if (firstName != null && !firstName.isEmpty()) findElementWithWait(firstNameField).sendKeys(firstName);
-        if (lastName != null && !lastName.isEmpty()) findElementWithWait(lastNameField).sendKeys(lastName);
-        if (postalCode != null && !postalCode.isEmpty()) findElementWithWait(postalCodeField).sendKeys(postalCode);
+        CheckoutInformationPage information = cart.checkout();
+        Assert.assertTrue(information.isOpen(), "Not on Checkout Step One page (First Name field not found).");
+        return information;
     }
 
     @Test(priority = 1, description = "Test successful checkout process for a single item.")
     public void successfulCheckout_SingleItem() {
         String itemToCheckout = "Sauce Labs Backpack";
-        addProductToCart(itemToCheckout);
-        proceedToCheckoutInformationStep();
-
-        fillShippingInformation("Abdallah", "Megahed", "12345");
-
-        // Uses the user-updated continueButton locator
-        clickElementWithWait(continueButton);
-
-        // Uses the user-updated finishButton locator
-        Assert.assertTrue(isElementDisplayed(finishButton), "Not on Checkout Step Two page (Finish button not found).");
+        CheckoutInformationPage information = proceedToCheckoutInformationStep(addProductToCart(itemToCheckout));
 
-        By specificItemInOverview = By.xpath(String.format("//div[@class='inventory_item_name' and text()='%s']", itemToCheckout));
-        Assert.assertTrue(isElementDisplayed(specificItemInOverview), itemToCheckout + " not visible in order overview.");
+        CheckoutOverviewPage overview = information.fill("Abdallah", "Megahed", "12345").continueToOverview();
+        Assert.assertTrue(overview.isOpen(), "Not on Checkout Step Two page (Finish button not found).");
 
-        System.out.println("Subtotal: " + findElementWithWait(summarySubtotalLabel).getText());
-        System.out.println("Tax: " + findElementWithWait(summaryTaxLabel).getText());
-        System.out.println("Total: " + findElementWithWait(summaryTotalLabel).getText());
+        Assert.assertTrue(overview.items().stream().anyMatch(item -> item.name().equals(itemToCheckout)),
+                itemToCheckout + " not visible in order overview.");
 
-        // Uses the user-updated finishButton locator
-        clickElementWithWait(finishButton);
-        Assert.assertTrue(isElementDisplayed(completeHeader), "Not on Checkout Complete page (Complete header not found).");
-        Assert.assertEquals(findElementWithWait(completeHeader).getText(), "THANK YOU FOR YOUR ORDER", "Checkout completion message is incorrect.");
-        System.out.println("Order completed successfully: " + findElementWithWait(completeText).getText());
+        System.out.println("Subtotal: " + overview.subtotal().getText());
+        System.out.println("Tax: " + overview.tax().getText());
+        System.out.println("Total: " + overview.total().getText());
 
-        // Uses the user-updated backHomeButton locator (points to H2 complete-header)
-        Assert.assertTrue(isElementDisplayed(backHomeButton), "Not Completed Order page after checkout.");
+        CheckoutCompletePage complete = overview.finish();
+        Assert.assertTrue(complete.isOpen(), "Not on Checkout Complete page (Complete header not found).");
+        Assert.assertEquals(complete.header().getText(), "THANK YOU FOR YOUR ORDER", "Checkout completion message is incorrect.");
+        System.out.println("Order completed successfully: " + complete.text().getText());
 
-        // Uses the user-updated shoppingCartBadge locator
-        List<WebElement> cartBadgeElements = driver.findElements(shoppingCartBadge);
-        Assert.assertTrue(cartBadgeElements.isEmpty(), "Shopping cart badge indicates items still in cart after checkout.");
+        Absence.assertAbsent(driver(), AppPage.CART_BADGE, "Shopping cart badge indicates items still in cart after checkout.");
 
-        // This message is now potentially misleading as the test doesn't return to inventory.
-        System.out.println("Checkout and return to inventory confirmed. Cart is empty.");
+        System.out.println("Checkout completed. Cart is empty.");
     }
 
     @DataProvider(name = "shippingInfoErrors")
@@ -156,62 +93,43 @@ public class Check_Out {
     }
 
     @Test(priority = 2, dataProvider = "shippingInfoErrors", description = "Test errors for missing shipping information.")
+    @MinimumEngine(Engine.HTMLUNIT)
     public void checkout_MissingShippingInformation(String firstName, String lastName, String postalCode, String expectedError) {
-        addProductToCart("Sauce Labs Bike Light");
-        proceedToCheckoutInformationStep();
-        fillShippingInformation(firstName, lastName, postalCode);
+        // Start on the form under test; the click-through path is covered by successfulCheckout_SingleItem
+        CheckoutFixtures.openStepOne(driver(), "Sauce Labs Bike Light");
+        CheckoutInformationPage information = new CheckoutInformationPage(driver(), waiter());
+        Assert.assertTrue(information.isOpen(), "Not on Checkout Step One page (First Name field not found).");
 
-        // Uses the user-updated continueButton locator
-        clickElementWithWait(continueButton);
-        WebElement errorMessageElement = findElementWithWait(checkoutStepOneErrorMessage);
+        WebElement errorMessageElement = information.fill(firstName, lastName, postalCode).submit().errorMessage();
         Assert.assertTrue(errorMessageElement.isDisplayed(), "Error message not displayed for missing shipping info.");
         Assert.assertTrue(errorMessageElement.getText().contains(expectedError),
                 "Error message text mismatch. Expected to contain: '" + expectedError + "', Actual: '" + errorMessageElement.getText() + "'");
         System.out.println("Handled missing shipping info correctly: " + errorMessageElement.getText());
-        Assert.assertTrue(isElementDisplayed(firstNameField), "Not on Checkout Step One page after error.");
+        Assert.assertTrue(information.isOpen(), "Not on Checkout Step One page after error.");
     }
 
     @Test(priority = 3, description = "Test canceling checkout from Step One (Information page).")
     public void cancelCheckout_FromStepOne() {
-        addProductToCart("Sauce Labs Bolt T-Shirt");
-        proceedToCheckoutInformationStep();
-        Assert.assertTrue(isElementDisplayed(firstNameField), "Not on correct page to cancel from Step One (first name field not found).");
-        clickElementWithWait(cancelCheckoutStepOneButton);
-        // Uses the user-updated checkoutButton locator for assertion
-        Assert.assertTrue(isElementDisplayed(checkoutButton), "Not returned to Cart page after canceling from Step One (checkout button not found).");
+        CheckoutFixtures.openStepOne(driver(), "Sauce Labs Bolt T-Shirt");
+        CheckoutInformationPage information = new CheckoutInformationPage(driver(), waiter());
+        Assert.assertTrue(information.isOpen(), "Not on correct page to cancel from Step One (first name field not found).");
+        Assert.assertTrue(information.cancel().isOpen(), "Not returned to Cart page after canceling from Step One (checkout button not found).");
         System.out.println("Canceled checkout from Step One and returned to Cart page.");
     }
 
     @Test(priority = 4, description = "Test canceling checkout from Step Two (Overview page).")
     public void cancelCheckout_FromStepTwo() {
-        addProductToCart("Sauce Labs Fleece Jacket");
-        proceedToCheckoutInformationStep();
+        CheckoutFixtures.openStepTwo(driver(), "Sauce Labs Fleece Jacket");
+        CheckoutOverviewPage overview = new CheckoutOverviewPage(driver(), waiter());
+        Assert.assertTrue(overview.isOpen(), "Not on Checkout Step Two page (Finish button not found).");
 
-        fillShippingInformation("Cancel", "Test", "54321");
-        // Uses the user-updated continueButton locator
-        clickElementWithWait(continueButton);
-        // Uses the user-updated finishButton locator for assertion
-        Assert.assertTrue(isElementDisplayed(finishButton), "Not on Checkout Step Two page (Finish button not found).");
-
-        // Local XPaths for cancel_button on step two are robust
-        By locatorToUseForCancelStepTwo = By.xpath("//a[@class='cart_cancel_link btn_secondary' and @href='./inventory.html' and text()='CANCEL']");
-        try {
-            wait.until(ExpectedConditions.elementToBeClickable(locatorToUseForCancelStepTwo));
-        } catch (TimeoutException e) {
-            System.out.println("Specific cancel button for Step Two not found or not clickable, trying fallback By.id('cancel').");
-            locatorToUseForCancelStepTwo = cancelCheckoutStepOneButton;
-        }
-        clickElementWithWait(locatorToUseForCancelStepTwo);
-
-        Assert.assertTrue(isElementDisplayed(inventoryList), "Not returned to Products/Inventory page after canceling from Step Two.");
+        Assert.assertTrue(overview.cancel().isOpen(), "Not returned to Products/Inventory page after canceling from Step Two.");
         System.out.println("Canceled checkout from Step Two and returned to Products/Inventory page.");
     }
 
 
     @AfterMethod
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        DriverContext.close();
     }
 }
\ No newline at end of file
@@ -1,79 +1,54 @@
 //kareem Mohamed Shawki
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
-import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.WebDriver;
+import org.example.config.SwagLabs;
+import org.example.driver.DriverContext;
+import org.example.driver.Engine;
+import org.example.driver.MinimumEngine;
+import org.example.pages.InventoryPage;
+import org.example.pages.LoginPage;
+import org.example.perf.PageTimings;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 
-public class Login_Logout {
-
-    private WebDriver driver;
-    private WebDriverWait wait;
+import static org.example.driver.DriverContext.driver;
+import static org.example.driver.DriverContext.waiter;
 
-    // Locators
-    private final By usernameField = By.id("user-name");
-    private final By passwordField = By.id("password");
-    private final By loginButton = By.id("login-button");
-    private final By inventoryList = By.className("inventory_list");
-    private final By menuButton = By.cssSelector("button[style=\"position: absolute; left: 0px; top: 0px; width: 100%; height: 100%; margin: 0px; padding: 0px; border: none; opacity: 0; font-size: 8px; cursor: pointer;\"]");
-    private final By logoutLink = By.cssSelector("a[id=\"logout_sidebar_link\"]");
-    private final By loginLogo = By.className("login_logo");
-    private final By errorMessageContainer = By.xpath("//h3[@data-test='error']");
+public class Login_Logout {
 
 
     @BeforeMethod
-    public void setUp() {
-        WebDriverManager.edgedriver().setup();
-        driver = new EdgeDriver();
-        driver.manage().window().maximize();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        String BASE_URL = "https://www.saucedemo.com/v1/index.html";
-        driver.get(BASE_URL);
+    public void setUp(Method method) {
+        DriverContext.open(Duration.ofSeconds(10), Engine.forTest(method));
+        loginPage().open();
     }
 
-
-    private void performLogin(String username, String password) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(usernameField)).sendKeys(username);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(passwordField)).sendKeys(password);
-        wait.until(ExpectedConditions.elementToBeClickable(loginButton)).click();
-    }
-
-
-    private void performLogout() {
-        driver.findElement(menuButton).click();
-        WebElement logoutElement = wait.until(ExpectedConditions.elementToBeClickable(logoutLink));
-        logoutElement.click();
+    private LoginPage loginPage() {
+        return new LoginPage(driver(), waiter());
     }
 
     // --- Test Cases ---
 
     @Test(priority = 1, description = "Test successful login with standard user and logout.")
     public void successfulLoginAndLogout_StandardUser() {
-        performLogin("standard_user", "secret_sauce");
+        InventoryPage inventory = loginPage().loginAs("standard_user", "secret_sauce");
         // Assert that login was successful by checking for an element on the inventory page
-        Assert.assertTrue(wait.until(ExpectedConditions.visibilityOfElementLocated(inventoryList)).isDisplayed(),
-                "Inventory list not displayed after standard user login.");
+        Assert.assertTrue(inventory.isOpen(), "Inventory list not displayed after standard user login.");
         System.out.println("Standard user logged in successfully.");
 
-        performLogout();
         // Assert that logout was successful by checking for an element on the login page
-        Assert.assertTrue(wait.until(ExpectedConditions.visibilityOfElementLocated(loginLogo)).isDisplayed(),
-                "Login logo not displayed after logout.");
+        Assert.assertTrue(inventory.logout().isOpen(), "Login logo not displayed after logout.");
         System.out.println("Standard user logged out successfully.");
     }
 
     @Test(priority = 2, description = "Test login with locked out user.")
+    @MinimumEngine(Engine.HTMLUNIT)
     public void login_LockedOutUser() {
-        performLogin("locked_out_user", "secret_sauce");
         // Assert that the error message is displayed
-        WebElement errorMessage = wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessageContainer));
+        WebElement errorMessage = loginPage().submit("locked_out_user", "secret_sauce").errorMessage();
         Assert.assertTrue(errorMessage.isDisplayed(), "Error message not displayed for locked out user.");
         Assert.assertTrue(errorMessage.getText().contains("Sorry, this user has been locked out."),
                 "Error message text is incorrect for locked out user.");
@@ -82,33 +57,26 @@ public class Login_Logout {
 
     @Test(priority = 3, description = "Test login with problem user and logout.")
     public void loginAndLogout_ProblemUser() {
-        performLogin("problem_user", "secret_sauce");
+        InventoryPage inventory = loginPage().loginAs("problem_user", "secret_sauce");
         // Problem user should still be able to log in. Problems might be on the inventory page.
-        Assert.assertTrue(wait.until(ExpectedConditions.visibilityOfElementLocated(inventoryList)).isDisplayed(),
-                "Inventory list not displayed after problem user login.");
+        Assert.assertTrue(inventory.isOpen(), "Inventory list not displayed after problem user login.");
         System.out.println("Problem user logged in successfully.");
 
-        performLogout();
-        Assert.assertTrue(wait.until(ExpectedConditions.visibilityOfElementLocated(loginLogo)).isDisplayed(),
-                "Login logo not displayed after logout for problem user.");
+        Assert.assertTrue(inventory.logout().isOpen(), "Login logo not displayed after logout for problem user.");
         System.out.println("Problem user logged out successfully.");
     }
 
     @Test(priority = 4, description = "Test login with performance glitch user and logout.")
     public void loginAndLogout_PerformanceGlitchUser() {
-        WebDriverWait performanceWait = new WebDriverWait(driver, Duration.ofSeconds(20));
-
-        performanceWait.until(ExpectedConditions.visibilityOfElementLocated(usernameField)).sendKeys("performance_glitch_user");
-        performanceWait.until(ExpectedConditions.visibilityOfElementLocated(passwordField)).sendKeys("secret_sauce");
-        performanceWait.until(ExpectedConditions.elementToBeClickable(loginButton)).click();
+        WebDriverWait performanceWait = DriverContext.newWait(driver(), Duration.ofSeconds(20));
+        InventoryPage inventory = new LoginPage(driver(), performanceWait)
+                .loginAs("performance_glitch_user", "secret_sauce");
 
-        Assert.assertTrue(performanceWait.until(ExpectedConditions.visibilityOfElementLocated(inventoryList)).isDisplayed(),
-                "Inventory list not displayed after performance glitch user login.");
+        Assert.assertTrue(inventory.isOpen(), "Inventory list not displayed after performance glitch user login.");
+        PageTimings.assertWithinBudget(PageTimings.capture(driver()));
         System.out.println("Performance glitch user logged in successfully.");
 
-        performLogout();
-        Assert.assertTrue(wait.until(ExpectedConditions.visibilityOfElementLocated(loginLogo)).isDisplayed(),
-                "Login logo not displayed after logout for performance glitch user.");
+        Assert.assertTrue(inventory.logout().isOpen(), "Login logo not displayed after logout for performance glitch user.");
         System.out.println("Performance glitch user logged out successfully.");
     }
 
@@ -125,9 +93,9 @@ public class Login_Logout {
     }
 
     @Test(priority = 5, dataProvider = "invalidLoginCredentials", description = "Test login with various invalid credentials.")
+    @MinimumEngine(Engine.HTMLUNIT)
     public void login_InvalidCredentials(String username, String password, String expectedErrorMessage) {
-        performLogin(username, password);
-        WebElement errorMessage = wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessageContainer));
+        WebElement errorMessage = loginPage().submit(username, password).errorMessage();
         Assert.assertTrue(errorMessage.isDisplayed(), "Error message not displayed for invalid credentials.");
         Assert.assertTrue(errorMessage.getText().contains(expectedErrorMessage),
                 "Error message text mismatch. Expected: '" + expectedErrorMessage + "', Actual: '" + errorMessage.getText() + "'");
@@ -137,24 +105,17 @@ public class Login_Logout {
     @Test(priority = 6, description = "Test navigating to inventory page without login (should redirect to login).")
     public void navigateToInventoryWithoutLogin() {
         // Clear cookies to simulate no login
-        driver.manage().deleteAllCookies();
+        driver().manage().deleteAllCookies();
 
         // Navigate to the inventory page
-        driver.get("https://www.saucedemo.com/v1/inventory.html");
-
-        // Wait to see if the login form is visible (means redirected)
-        boolean redirectedToLogin;
-        try {
-            wait.withTimeout(Duration.ofSeconds(3)).until(ExpectedConditions.visibilityOfElementLocated(By.id("login-button")));
-            redirectedToLogin = true;
-        } catch (TimeoutException e) {
-            redirectedToLogin = false;
-        }
+        driver().get(SwagLabs.page("inventory.html"));
+
+        // Once the page has settled, a visible login form means we were redirected
+        boolean redirectedToLogin = loginPage().isFormPresent();
 
         if (!redirectedToLogin) {
             try {
-                driver.findElement(menuButton).click();
-                driver.findElement(logoutLink).click();
+                new InventoryPage(driver(), waiter()).logout();
             } catch (Exception ex) {
                 System.out.println("Logout failed, probably already logged out.");
             }
@@ -166,8 +127,6 @@ public class Login_Logout {
 
     @AfterMethod
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        DriverContext.close();
     }
 }
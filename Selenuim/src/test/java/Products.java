@@ -1,8 +1,11 @@
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.*;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.example.driver.DriverContext;
+import org.example.driver.TabFanOut;
+import org.example.extract.InventoryItem;
+import org.example.network.NetworkControl;
+import org.example.network.ResourceClass;
+import org.example.pages.InventoryPage;
+import org.example.pages.ItemDetailPage;
+import org.example.session.SessionBootstrap;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
@@ -10,51 +13,39 @@ import java.time.Duration;
 import java.util.List;
 import java.util.ArrayList;
 
+import static org.example.driver.DriverContext.driver;
+import static org.example.driver.DriverContext.waiter;
+
 public class Products {
-    private WebDriver driver;
-    private WebDriverWait wait;
-
-    // Locators
-    private final By inventoryList = By.id("inventory_container");
-    private final By productNames = By.className("inventory_item_name");
-    private final By productPrices = By.className("inventory_item_price");
-    private final By productImages = By.className("inventory_item_img");
-    private final By productDescs = By.className("inventory_item_desc");
-    private final By backToProducts = By.id("back-to-products"); // Fixed locator
-    private final By productDetailName = By.className("inventory_details_name");
-    private final By productDetailPrice = By.className("inventory_details_price");
-    private final By productDetailDesc = By.className("inventory_details_desc");
-    private final By productDetailImage = By.className("inventory_details_img");
 
     @BeforeMethod
     public void setUp() {
-        WebDriverManager.edgedriver().setup();
-        driver = new EdgeDriver();
-        driver.manage().window().maximize();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        driver.get("https://www.saucedemo.com/v1/index.html");
+        DriverContext.open(Duration.ofSeconds(5));
+        // These tests assert on product images, so never block them here (-Dnetwork.block)
+        NetworkControl.allow(driver(), ResourceClass.IMAGES);
 
-        // Perform login
-        driver.findElement(By.id("user-name")).sendKeys("standard_user");
-        driver.findElement(By.id("password")).sendKeys("secret_sauce");
-        driver.findElement(By.id("login-button")).click();
+        // Log in by injecting the cached standard_user session
+        SessionBootstrap.loginAs(driver(), "standard_user");
 
         // Ensure the inventory page fully loads before interacting
-        wait.until(ExpectedConditions.visibilityOfElementLocated(inventoryList));
+        Assert.assertTrue(inventory().isOpen(), "Inventory not displayed after login.");
+    }
+
+    private InventoryPage inventory() {
+        return new InventoryPage(driver(), waiter());
     }
 
     @Test(priority = 1, description = "Verify all products are displayed correctly.")
     public void verifyProductListingPage() {
-        List<WebElement> names = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(productNames));
-        List<WebElement> prices = driver.findElements(productPrices);
-        List<WebElement> images = driver.findElements(productImages);
-        List<WebElement> descriptions = driver.findElements(productDescs);
-
-        for (int i = 0; i < names.size(); i++) {
-            Assert.assertTrue(names.get(i).isDisplayed(), "Product name not displayed");
-            Assert.assertTrue(prices.get(i).isDisplayed(), "Product price not displayed");
-            Assert.assertTrue(images.get(i).isDisplayed(), "Product image not displayed");
-            Assert.assertTrue(descriptions.get(i).isDisplayed(), "Product description not displayed");
+        // Name, price, image and description of every card in one round trip
+        List<InventoryItem> items = inventory().items();
+        Assert.assertFalse(items.isEmpty(), "No products listed");
+
+        for (InventoryItem item : items) {
+            Assert.assertTrue(item.nameDisplayed(), "Product name not displayed");
+            Assert.assertTrue(item.priceDisplayed(), "Product price not displayed for " + item.name());
+            Assert.assertTrue(item.imageDisplayed(), "Product image not displayed for " + item.name());
+            Assert.assertTrue(item.descriptionDisplayed(), "Product description not displayed for " + item.name());
         }
 
         System.out.println("All products are displayed correctly.");
@@ -62,54 +53,62 @@ public class Products {
 
     @Test(priority = 2, description = "Verify each individual product page displays correct details.")
     public void verifyEachProductDetailPage() {
+        if (TabFanOut.width() == 0) {
+            verifyEachProductDetailPageInOneTab();
+            return;
+        }
+
+        // Open every detail page in its own tab and read each one in a single round trip
+        List<InventoryItem> listed = inventory().items();
+        Assert.assertFalse(listed.isEmpty(), "No products listed");
+        List<String> detailUrls = listed.stream().map(InventoryItem::detailUrl).toList();
+        List<InventoryItem> details = TabFanOut.visit(driver(), detailUrls, tab -> new ItemDetailPage(tab, waiter()).details());
+
+        for (int i = 0; i < listed.size(); i++) {
+            String productName = listed.get(i).name();
+            InventoryItem detail = details.get(i);
+            Assert.assertEquals(detail.name(), productName, "Product name mismatch");
+            Assert.assertTrue(detail.descriptionDisplayed(), "Product description missing for " + productName);
+            Assert.assertTrue(detail.imageDisplayed(), "Product image missing for " + productName);
+            Assert.assertTrue(detail.priceDisplayed(), "Product price missing for " + productName);
+        }
+
+        System.out.println("All product detail pages checked successfully.");
+    }
+
+    // Click-through path, used when tab fan-out is turned off (-Dtabs.fanout=0)
+    private void verifyEachProductDetailPageInOneTab() {
+        InventoryPage inventory = inventory();
         List<String> productNamesList = new ArrayList<>();
-        List<WebElement> products = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(productNames));
-        
+
         // First, store all product names
-        for (WebElement product : products) {
-            productNamesList.add(product.getText());
+        for (InventoryItem item : inventory.items()) {
+            productNamesList.add(item.name());
         }
 
         // Then iterate through each product
         for (String productName : productNamesList) {
             try {
-                // Find and click the product with a matching name
-                WebElement product = driver.findElement(By.xpath("//div[contains(@class, 'inventory_item_name') and text()='" + productName + "']"));
-                product.click();
+                // Open the product with a matching name
+                ItemDetailPage detail = inventory.openDetail(productName);
 
                 // Verify product details
-                Assert.assertEquals(
-                    wait.until(ExpectedConditions.visibilityOfElementLocated(productDetailName)).getText(),
-                    productName,
-                    "Product name mismatch"
-                );
-                Assert.assertTrue(
-                    wait.until(ExpectedConditions.visibilityOfElementLocated(productDetailDesc)).isDisplayed(),
-                    "Product description missing"
-                );
-                Assert.assertTrue(
-                    wait.until(ExpectedConditions.visibilityOfElementLocated(productDetailImage)).isDisplayed(),
-                    "Product image missing"
-                );
-                Assert.assertTrue(
-                    wait.until(ExpectedConditions.visibilityOfElementLocated(productDetailPrice)).isDisplayed(),
-                    "Product price missing"
-                );
-
-                // Try to find and click the back button with retries
-                WebElement backButton = wait.until(ExpectedConditions.elementToBeClickable(backToProducts));
-                JavascriptExecutor js = (JavascriptExecutor) driver;
-                js.executeScript("arguments[0].click();", backButton);
-
-                // Wait for the product list to be visible again
-                wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(productNames));
-                
+                Assert.assertEquals(detail.name().getText(), productName, "Product name mismatch");
+                Assert.assertTrue(detail.description().isDisplayed(), "Product description missing");
+                Assert.assertTrue(detail.image().isDisplayed(), "Product image missing");
+                Assert.assertTrue(detail.price().isDisplayed(), "Product price missing");
+
+                // Go back and wait for the product list to be visible again
+                inventory = detail.backToProducts();
+                Assert.assertTrue(inventory.isOpen(), "Product list not displayed after going back");
+
             } catch (Exception e) {
                 System.err.println("Error processing product: " + productName);
                 e.printStackTrace();
                 // Try to go back to the product page if there's an error
-                driver.navigate().back();
-                wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(productNames));
+                driver().navigate().back();
+                inventory = inventory();
+                inventory.isOpen();
             }
         }
 
@@ -118,8 +117,6 @@ public class Products {
 
     @AfterMethod
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        DriverContext.close();
     }
 }
\ No newline at end of file
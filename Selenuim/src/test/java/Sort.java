@@ -1,66 +1,47 @@
 // Yossif Mohamed Abbas
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.*;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.example.config.SwagLabs;
+import org.example.driver.DriverContext;
+import org.example.driver.SessionAffinity;
+import org.example.extract.InventoryItem;
+import org.example.pages.InventoryPage;
+import org.example.session.SessionBootstrap;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class Sort {
-    private WebDriver driver;
-    private WebDriverWait wait;
-
-    // Locators
-    private final By usernameField = By.id("user-name");
-    private final By passwordField = By.id("password");
-    private final By loginButton = By.id("login-button");
-    private final By sortDropdown = By.className("product_sort_container");
-    private final By priceElements = By.className("inventory_item_price");
-    private final By nameElements = By.className("inventory_item_name");
+import static org.example.driver.DriverContext.driver;
+import static org.example.driver.DriverContext.waiter;
 
+public class Sort {
     @BeforeMethod
-    public void setup() {
-        WebDriverManager.edgedriver().setup();
-        driver = new EdgeDriver();
-        driver.manage().window().maximize();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        String BASE_URL = "https://www.saucedemo.com/v1/index.html";
-        driver.get(BASE_URL);
+    public void setup(Method method, Object[] row) {
+        // Rows for the same user share one logged-in browser (see @SessionAffinity below)
+        DriverContext.open(Duration.ofSeconds(5), DriverContext.affinityKey(method, row));
     }
 
     @AfterMethod
     public void tearDown() {
-        if (driver != null) driver.quit();
+        DriverContext.close();
     }
 
     private void login(String username, String password) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(usernameField)).sendKeys(username);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(passwordField)).sendKeys(password);
-        wait.until(ExpectedConditions.elementToBeClickable(loginButton)).click();
-    }
-
-    private void selectSortOption(String value) {
-        WebElement dropdown = wait.until(ExpectedConditions.elementToBeClickable(sortDropdown));
-        dropdown.findElement(By.cssSelector("option[value='" + value + "']")).click();
+        SessionBootstrap.loginAs(driver(), SwagLabs.baseUrl(), username, password);
     }
 
-    private List<Double> getPrices() {
-        List<WebElement> prices = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(priceElements));
-        return prices.stream()
-                .map(e -> e.getText().replace("$", "").trim())
-                .map(Double::parseDouble)
+    private List<Double> getPrices(InventoryPage inventory) {
+        // Wait for the list to render, then read every card in a single script call
+        return inventory.items().stream()
+                .map(InventoryItem::price)
                 .collect(Collectors.toList());
     }
 
-    private List<String> getNames() {
-        List<WebElement> names = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(nameElements));
-        return names.stream()
-                .map(WebElement::getText)
+    private List<String> getNames(InventoryPage inventory) {
+        return inventory.items().stream()
+                .map(InventoryItem::name)
                 .collect(Collectors.toList());
     }
 
@@ -85,12 +66,13 @@ public class Sort {
     }
 
     @Test(dataProvider = "usersAndSortOptions")
+    @SessionAffinity(parameter = 0)
     public void testSorting(String username, String password, String sortType) {
         login(username, password);
-        selectSortOption(sortType);
+        InventoryPage inventory = new InventoryPage(driver(), waiter()).sortBy(sortType);
 
         if (sortType.equals("lohi") || sortType.equals("hilo")) {
-            List<Double> prices = getPrices();
+            List<Double> prices = getPrices(inventory);
             List<Double> expected = new ArrayList<>(prices);
             if (sortType.equals("lohi")) {
                 Collections.sort(expected);
@@ -100,7 +82,7 @@ public class Sort {
             Assert.assertEquals(prices, expected, "Prices not sorted correctly for: " + username + " - " + sortType);
             System.out.println("✅ Prices sorted correctly for " + username + " - " + sortType);
         } else {
-            List<String> names = getNames();
+            List<String> names = getNames(inventory);
             List<String> expected = new ArrayList<>(names);
             if (sortType.equals("az")) {
                 Collections.sort(expected);
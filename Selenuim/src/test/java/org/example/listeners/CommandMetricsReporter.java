@@ -0,0 +1,80 @@
+package org.example.listeners;
+
+import org.example.metrics.CommandMetrics;
+import org.example.metrics.TestTag;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Tags driver commands with the test method (and data-provider row) running on the current
+ * thread, and writes the {@link CommandMetrics} report when the suite finishes. Does nothing
+ * unless {@code metrics.enabled=true}.
+ * <p>
+ * Commands of {@code @BeforeMethod} and {@code @AfterMethod} count towards the test they
+ * serve: setup is recorded under a placeholder tag and moved onto the test once it starts,
+ * and teardown reuses the tag of the test that just ran on the thread. Other configuration
+ * methods are tagged with their own name.
+ */
+public class CommandMetricsReporter implements IInvokedMethodListener, ISuiteListener {
+
+    // Setup recorded on this thread for a test that has not started yet
+    private static final ThreadLocal<TestTag> PENDING_SETUP = new ThreadLocal<>();
+    // The test an @AfterMethod on this thread belongs to
+    private static final ThreadLocal<TestTag> LAST_TEST = new ThreadLocal<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!CommandMetrics.enabled()) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        String testClass = testResult.getTestClass().getName();
+        if (method.isTestMethod()) {
+            Object[] parameters = testResult.getParameters();
+            String row = parameters != null && parameters.length > 0 ? Arrays.toString(parameters) : null;
+            TestTag tag = new TestTag(testClass, testMethod.getMethodName(), row);
+            TestTag setup = PENDING_SETUP.get();
+            if (setup != null) {
+                CommandMetrics.moveTo(setup, tag);
+                PENDING_SETUP.remove();
+            }
+            LAST_TEST.set(tag);
+            CommandMetrics.enterTest(tag);
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            TestTag setup = PENDING_SETUP.get();
+            if (setup == null || !setup.testClass().equals(testClass)) {
+                // Unique per thread, so parallel setups do not mix before they are moved. A
+                // setup left over from another class's skipped test keeps its own tag.
+                setup = new TestTag(testClass, "(setup)", Thread.currentThread().getName());
+                PENDING_SETUP.set(setup);
+            }
+            CommandMetrics.enterTest(setup);
+        } else if (testMethod.isAfterMethodConfiguration() && LAST_TEST.get() != null) {
+            CommandMetrics.enterTest(LAST_TEST.get());
+        } else {
+            CommandMetrics.enterTest(new TestTag(testClass, testMethod.getMethodName(), null));
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (CommandMetrics.enabled()) {
+            CommandMetrics.exitTest();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Path report = CommandMetrics.export();
+        if (report != null) {
+            System.out.println("Command latency report written to " + report.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.listeners;
+
+import org.example.config.Config;
+import org.example.driver.SessionAffinity;
+import org.example.schedule.DurationHistory;
+import org.example.schedule.LptScheduler;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Schedules test methods by how long they took in previous runs (see {@link DurationHistory})
+ * and records this run's durations for the next one.
+ * <ul>
+ *     <li>{@code shard.count} - split the suite into this many shards (default {@code 1})</li>
+ *     <li>{@code shard.index} - the shard this run executes, {@code 0} to {@code shard.count - 1}</li>
+ * </ul>
+ * Methods run longest first, so the long data-driven methods start while the workers are all
+ * free instead of ending up alone at the tail of the run; methods expected to take equally long
+ * keep their declared priority order. Without any history and with one shard the declared
+ * order is left untouched. With several shards the methods are divided by
+ * {@link LptScheduler#shard} and a run keeps only its own share. Every shard must see the
+ * same history file (point {@code schedule.history} at a shared copy) or the shards will not
+ * line up. Rows of data-driven methods run longest first too, except for
+ * {@link SessionAffinity} methods, whose rows {@link SessionAffinityOrder} interleaves.
+ */
+public class DurationScheduler implements IMethodInterceptor, IDataProviderInterceptor, IInvokedMethodListener,
+        ISuiteListener {
+
+    public static final String SHARD_INDEX_PROPERTY = "shard.index";
+    public static final String SHARD_COUNT_PROPERTY = "shard.count";
+
+    // Cost of a method nobody has timed yet when there is no history at all
+    private static final long UNKNOWN_METHOD_MS = 10_000;
+
+    private static final DurationHistory HISTORY = DurationHistory.load();
+    private static final ThreadLocal<Long> SETUP_MS = ThreadLocal.withInitial(() -> 0L);
+    private static final ThreadLocal<Row> LAST_TEST = new ThreadLocal<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int shards = Math.max(1, Config.integer(SHARD_COUNT_PROPERTY, 1));
+        if (HISTORY.isEmpty() && shards == 1) {
+            // Every method would cost the same; nothing to improve on the declared order
+            return methods;
+        }
+        long unknown = HISTORY.meanMethod(UNKNOWN_METHOD_MS);
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingInt((IMethodInstance m) -> m.getMethod().getPriority())
+                .thenComparing(m -> key(m.getMethod())));
+        ordered = LptScheduler.longestFirst(ordered, m -> HISTORY.expected(key(m.getMethod()), unknown));
+
+        if (shards > 1) {
+            int index = Config.integer(SHARD_INDEX_PROPERTY, 0);
+            if (index < 0 || index >= shards) {
+                throw new IllegalArgumentException(SHARD_INDEX_PROPERTY + " must be between 0 and " + (shards - 1)
+                        + ", got " + index);
+            }
+            ordered = LptScheduler.shard(ordered, m -> HISTORY.expected(key(m.getMethod()), unknown), shards, index);
+            long expectedMs = ordered.stream().mapToLong(m -> HISTORY.expected(key(m.getMethod()), unknown)).sum();
+            System.out.println("Shard " + index + "/" + shards + ": " + ordered.size() + " of " + methods.size()
+                    + " test methods, about " + expectedMs / 1000 + " s");
+        }
+
+        // TestNG starts methods in priority order, so the schedule is expressed as priorities
+        for (int rank = 0; rank < ordered.size(); rank++) {
+            ordered.get(rank).getMethod().setPriority(rank);
+        }
+        return ordered;
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        if (HISTORY.isEmpty() || method.getConstructorOrMethod().getMethod().isAnnotationPresent(SessionAffinity.class)) {
+            return original;
+        }
+        String key = key(method);
+        List<Object[]> rows = new ArrayList<>();
+        original.forEachRemaining(rows::add);
+        return LptScheduler.longestFirst(rows, row -> HISTORY.expected(key, Arrays.toString(row), 0)).iterator();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        long millis = testResult.getEndMillis() - testResult.getStartMillis();
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            Object[] parameters = testResult.getParameters();
+            String row = parameters != null && parameters.length > 0 ? Arrays.toString(parameters) : null;
+            HISTORY.record(key(testMethod), row, millis + SETUP_MS.get());
+            SETUP_MS.remove();
+            LAST_TEST.set(new Row(key(testMethod), row));
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            SETUP_MS.set(SETUP_MS.get() + millis);
+        } else if (testMethod.isAfterMethodConfiguration() && LAST_TEST.get() != null) {
+            HISTORY.record(LAST_TEST.get().method(), LAST_TEST.get().row(), millis);
+            LAST_TEST.remove();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        System.out.println("Test durations written to " + HISTORY.save().toAbsolutePath());
+    }
+
+    private static String key(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    // The test an @AfterMethod on this thread belongs to
+    private record Row(String method, String row) {
+    }
+}
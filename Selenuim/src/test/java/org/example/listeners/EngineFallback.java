@@ -0,0 +1,79 @@
+package org.example.listeners;
+
+import org.example.driver.DriverContext;
+import org.example.driver.Engine;
+import org.example.driver.MinimumEngine;
+import org.openqa.selenium.WebDriverException;
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Re-runs a test in the browser when it failed on {@link Engine#HTMLUNIT} with a driver error
+ * - a script HtmlUnit could not run, an element it did not render, a wait that never came
+ * true - instead of reporting a failure the browser might not have. The method is
+ * {@linkplain Engine#promote promoted}, so its remaining rows go straight to the browser.
+ * Assertion failures are left alone: they are about the application, not the engine.
+ */
+public class EngineFallback implements IAnnotationTransformer, IInvokedMethodListener {
+
+    private static final String ENGINE_ATTRIBUTE = "engine";
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (testMethod == null) {
+            return;
+        }
+        MinimumEngine minimum = testMethod.getAnnotation(MinimumEngine.class);
+        if (minimum == null) {
+            minimum = testMethod.getDeclaringClass().getAnnotation(MinimumEngine.class);
+        }
+        if (minimum != null && minimum.value() != Engine.BROWSER) {
+            annotation.setRetryAnalyzer(OnBrowser.class);
+        }
+    }
+
+    /**
+     * Notes which engine the test ran on while its session is still open; by the time the
+     * retry is decided, {@code @AfterMethod} may have closed it.
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && DriverContext.isOpen()) {
+            testResult.setAttribute(ENGINE_ATTRIBUTE, DriverContext.engine());
+        }
+    }
+
+    /**
+     * Retries once, in the browser, a test that failed on a lighter engine.
+     */
+    public static class OnBrowser implements IRetryAnalyzer {
+
+        @Override
+        public boolean retry(ITestResult result) {
+            Method method = result.getMethod().getConstructorOrMethod().getMethod();
+            if (result.getAttribute(ENGINE_ATTRIBUTE) != Engine.HTMLUNIT || !isDriverError(result.getThrowable())) {
+                return false;
+            }
+            Engine.promote(method);
+            System.out.println("Re-running " + result.getTestClass().getName() + "." + method.getName()
+                    + " in the browser after it failed on HtmlUnit: " + result.getThrowable());
+            return true;
+        }
+
+        private static boolean isDriverError(Throwable failure) {
+            for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+                if (cause instanceof WebDriverException || cause.getClass().getName().startsWith("org.htmlunit.")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.listeners;
+
+import org.example.artifacts.FailureArtifacts;
+import org.example.driver.DriverContext;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+
+/**
+ * Captures {@link FailureArtifacts} for every failed test method and waits for them to be
+ * written when the suite finishes.
+ * <p>
+ * Captures in {@code afterInvocation} rather than {@code onTestFailure}: TestNG only reports
+ * the failure after {@code @AfterMethod} has run, by which time the session has gone back to
+ * the pool and been reset.
+ */
+public class FailureArtifactsListener implements IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE
+                || !FailureArtifacts.enabled() || !DriverContext.isOpen()) {
+            return;
+        }
+        String name = testResult.getTestClass().getName() + "." + method.getTestMethod().getMethodName();
+        Object[] parameters = testResult.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            name += Arrays.toString(parameters);
+        }
+        FailureArtifacts.submit(FailureArtifacts.capture(DriverContext.driver(), name, testResult.getThrowable()));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FailureArtifacts.flush();
+    }
+}
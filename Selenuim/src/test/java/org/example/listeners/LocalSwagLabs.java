@@ -0,0 +1,59 @@
+package org.example.listeners;
+
+import org.example.config.Config;
+import org.example.config.SwagLabs;
+import org.example.server.SwagLabsServer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.time.Duration;
+
+/**
+ * Suite-level fixture that serves the local Swag Labs replica for the whole run when
+ * {@code server.local=true} and points {@code base.url} at it.
+ * <ul>
+ *     <li>{@code server.port} - listening port, 0 (default) for any free port</li>
+ *     <li>{@code server.latencyMs} - delay added to every response</li>
+ *     <li>{@code server.glitchLatencyMs} - extra delay per page for performance_glitch_user (default 1500)</li>
+ * </ul>
+ */
+public class LocalSwagLabs implements ISuiteListener {
+
+    public static final String LOCAL_PROPERTY = "server.local";
+    public static final String PORT_PROPERTY = "server.port";
+    public static final String LATENCY_PROPERTY = "server.latencyMs";
+    public static final String GLITCH_LATENCY_PROPERTY = "server.glitchLatencyMs";
+
+    private SwagLabsServer server;
+    private String previousBaseUrl;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!Config.flag(LOCAL_PROPERTY, false)) {
+            return;
+        }
+        server = SwagLabsServer.builder()
+                .port(Config.integer(PORT_PROPERTY, 0))
+                .latency(Duration.ofMillis(Config.integer(LATENCY_PROPERTY, 0)))
+                .userLatency(SwagLabsServer.PERFORMANCE_GLITCH_USER,
+                        Duration.ofMillis(Config.integer(GLITCH_LATENCY_PROPERTY, 1500)))
+                .start();
+        previousBaseUrl = System.getProperty(SwagLabs.BASE_URL_PROPERTY);
+        System.setProperty(SwagLabs.BASE_URL_PROPERTY, server.baseUrl());
+        System.out.println("Serving the local Swag Labs replica at " + server.baseUrl());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (server == null) {
+            return;
+        }
+        server.close();
+        server = null;
+        if (previousBaseUrl == null) {
+            System.clearProperty(SwagLabs.BASE_URL_PROPERTY);
+        } else {
+            System.setProperty(SwagLabs.BASE_URL_PROPERTY, previousBaseUrl);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.listeners;
+
+import org.example.locators.Locators;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.nio.file.Path;
+
+/**
+ * Writes the {@link Locators} cost and fragility report when the suite finishes and prints
+ * every locator that matched more than one element. Does nothing unless
+ * {@code locators.report=true}.
+ */
+public class LocatorReporter implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        for (String line : Locators.ambiguous()) {
+            System.out.println("Ambiguous locator: " + line);
+        }
+        Path report = Locators.export();
+        if (report != null) {
+            System.out.println("Locator report written to " + report.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.listeners;
+
+import org.example.driver.DriverContext;
+import org.example.metrics.TestTag;
+import org.example.network.NetworkControl;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Attributes browser network traffic to the test method (and data-provider row) running on
+ * the current thread, adds each test's per-page request summary to the TestNG report, and
+ * writes the {@link NetworkControl} report when the suite finishes. Does nothing unless
+ * {@code network.block} or {@code network.metrics} is set.
+ */
+public class NetworkReporter implements IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!NetworkControl.enabled()) {
+            return;
+        }
+        NetworkControl.enterTest(DriverContext.isOpen() ? DriverContext.driver() : null, tag(method, testResult));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!NetworkControl.enabled()) {
+            return;
+        }
+        if (method.isTestMethod()) {
+            for (String line : NetworkControl.summary(tag(method, testResult))) {
+                Reporter.log("Network " + line);
+            }
+        }
+        NetworkControl.exitTest();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Path report = NetworkControl.export();
+        if (report != null) {
+            System.out.println("Network report written to " + report.toAbsolutePath());
+        }
+    }
+
+    private static TestTag tag(IInvokedMethod method, ITestResult testResult) {
+        Object[] parameters = testResult.getParameters();
+        String row = method.isTestMethod() && parameters != null && parameters.length > 0
+                ? Arrays.toString(parameters)
+                : null;
+        return new TestTag(testResult.getTestClass().getName(), method.getTestMethod().getMethodName(), row);
+    }
+}
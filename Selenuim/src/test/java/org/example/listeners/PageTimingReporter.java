@@ -0,0 +1,25 @@
+package org.example.listeners;
+
+import org.example.perf.PageTimings;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.util.List;
+
+/**
+ * Writes the {@link PageTimings} report when the suite finishes and prints the budget
+ * violations and run-over-run regressions it found.
+ */
+public class PageTimingReporter implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<String> regressions = PageTimings.export();
+        for (String violation : PageTimings.violations()) {
+            System.err.println("Performance budget exceeded: " + violation);
+        }
+        for (String regression : regressions) {
+            System.err.println("Page load regression: " + regression);
+        }
+    }
+}
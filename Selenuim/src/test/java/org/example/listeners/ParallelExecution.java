@@ -0,0 +1,77 @@
+package org.example.listeners;
+
+import org.example.config.Config;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Applies the parallel execution plan chosen on the command line (e.g.
+ * {@code mvn test -Dsuite.parallel=classes -Dsuite.threads=8}) to every suite. The defaults
+ * live here only, so Maven and IDE runs get the same plan.
+ * <ul>
+ *     <li>{@code suite.parallel} - {@code none}, {@code methods} (default), {@code classes} or
+ *     {@code instances}</li>
+ *     <li>{@code suite.threads} - worker threads (defaults to the number of available cores)</li>
+ *     <li>{@code suite.dataProviderParallel} - run data-provider rows concurrently too
+ *     (default: true)</li>
+ *     <li>{@code suite.dataProviderThreads} - row threads (defaults to {@code suite.threads})</li>
+ * </ul>
+ * Must be registered in testng.xml: TestNG only consults alter-suite listeners from there.
+ */
+public class ParallelExecution implements IAlterSuiteListener, IAnnotationTransformer {
+
+    public static final String PARALLEL_PROPERTY = "suite.parallel";
+    public static final String THREADS_PROPERTY = "suite.threads";
+    public static final String DATA_PROVIDER_PARALLEL_PROPERTY = "suite.dataProviderParallel";
+    public static final String DATA_PROVIDER_THREADS_PROPERTY = "suite.dataProviderThreads";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        XmlSuite.ParallelMode mode = parallelMode();
+        int threads = threadCount();
+        for (XmlSuite suite : suites) {
+            suite.setParallel(mode);
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(dataProviderThreadCount());
+        }
+        System.out.println("Parallel mode: " + mode + ", threads: " + threads
+                + ", data-provider rows in parallel: " + dataProvidersInParallel());
+    }
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        if (dataProvidersInParallel()) {
+            annotation.setParallel(true);
+        }
+    }
+
+    public static XmlSuite.ParallelMode parallelMode() {
+        String mode = Config.string(PARALLEL_PROPERTY, "methods").toLowerCase(Locale.ROOT);
+        return switch (mode) {
+            case "none", "false" -> XmlSuite.ParallelMode.NONE;
+            case "methods" -> XmlSuite.ParallelMode.METHODS;
+            case "classes" -> XmlSuite.ParallelMode.CLASSES;
+            case "instances" -> XmlSuite.ParallelMode.INSTANCES;
+            default -> throw new IllegalArgumentException("Unsupported " + PARALLEL_PROPERTY + " '" + mode
+                    + "', expected none, methods, classes or instances");
+        };
+    }
+
+    public static int threadCount() {
+        return Math.max(1, Config.integer(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static int dataProviderThreadCount() {
+        return Math.max(1, Config.integer(DATA_PROVIDER_THREADS_PROPERTY, threadCount()));
+    }
+
+    public static boolean dataProvidersInParallel() {
+        return Config.flag(DATA_PROVIDER_PARALLEL_PROPERTY, true);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.listeners;
+
+import org.example.config.Config;
+import org.example.config.SwagLabs;
+import org.example.driver.DriverPool;
+import org.example.driver.Engine;
+import org.example.driver.SessionAffinity;
+import org.example.session.SessionBootstrap;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlSuite;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Starts browser sessions in the background as soon as the suite begins, so the first
+ * {@code @BeforeMethod} on each worker gets a session that is already up and on the
+ * application instead of waiting for a browser launch.
+ * <ul>
+ *     <li>{@code driver.prewarm} - sessions to start: {@code auto} (default) starts one per
+ *     test method that will run in the browser, at most the parallelism from
+ *     {@link ParallelExecution}; a number sets it, {@code 0} turns it off</li>
+ *     <li>{@code driver.prewarm.user} - also log each session in as this user (default: none)</li>
+ * </ul>
+ * Under {@code auto}, only tests whose class opens its session in {@code @BeforeMethod} count;
+ * methods that run on {@link Engine#HTMLUNIT} need no browser, and the rows of a
+ * {@link SessionAffinity} method share sessions, so such a method counts once. Must be
+ * registered after {@link LocalSwagLabs} so {@code base.url} already points at the local
+ * replica when that is in use, which is what lets tests run on a lighter engine.
+ */
+public class PrewarmBrowsers implements ISuiteListener {
+
+    public static final String PREWARM_PROPERTY = "driver.prewarm";
+    public static final String PREWARM_USER_PROPERTY = "driver.prewarm.user";
+
+    @Override
+    public void onStart(ISuite suite) {
+        int sessions = sessions(suite);
+        if (sessions == 0) {
+            return;
+        }
+        String user = Config.string(PREWARM_USER_PROPERTY, null);
+        DriverPool.prewarm(sessions, driver -> {
+            if (user == null) {
+                driver.get(SwagLabs.baseUrl());
+            } else {
+                SessionBootstrap.loginAs(driver, user);
+            }
+        });
+        System.out.println("Prewarming " + sessions + " browser session(s)" + (user == null ? "" : " as " + user));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverPool.discardPrewarmed();
+    }
+
+    static int sessions(ISuite suite) {
+        String value = Config.string(PREWARM_PROPERTY, "auto").toLowerCase(Locale.ROOT);
+        if (!value.equals("auto")) {
+            return Math.max(0, Config.integer(PREWARM_PROPERTY, 0));
+        }
+        int parallelism = ParallelExecution.parallelMode() == XmlSuite.ParallelMode.NONE ? 1 : ParallelExecution.threadCount();
+        if (ParallelExecution.dataProvidersInParallel()) {
+            parallelism = Math.max(parallelism, ParallelExecution.dataProviderThreadCount());
+        }
+        int browserMethods = 0;
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            Method javaMethod = method.getConstructorOrMethod().getMethod();
+            if (method.getTestClass().getBeforeTestMethods().length == 0 || Engine.forTest(javaMethod) != Engine.BROWSER) {
+                continue;
+            }
+            boolean rowsInParallel = method.isDataDriven() && ParallelExecution.dataProvidersInParallel()
+                    && !javaMethod.isAnnotationPresent(SessionAffinity.class);
+            browserMethods += rowsInParallel ? ParallelExecution.dataProviderThreadCount() : 1;
+        }
+        return Math.min(parallelism, browserMethods);
+    }
+}
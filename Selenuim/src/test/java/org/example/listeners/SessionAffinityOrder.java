@@ -0,0 +1,59 @@
+package org.example.listeners;
+
+import org.example.driver.DriverContext;
+import org.example.driver.SessionAffinity;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reorders the rows of {@link SessionAffinity} tests round-robin by key (u1, u2, u3, u1, ...)
+ * so that parallel row threads start on different sessions instead of queueing behind the
+ * same one. Rows keep their relative order within a key. Also tells {@link DriverContext} how
+ * many rows each key has, so a key's session goes back to the pool after its last row.
+ */
+public class SessionAffinityOrder implements IDataProviderInterceptor {
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        Method javaMethod = method.getConstructorOrMethod().getMethod();
+        SessionAffinity affinity = javaMethod.getAnnotation(SessionAffinity.class);
+        if (affinity == null) {
+            return original;
+        }
+        Map<Object, Deque<Object[]>> byKey = new LinkedHashMap<>();
+        original.forEachRemaining(row -> byKey.computeIfAbsent(
+                row.length > affinity.parameter() ? Objects.toString(row[affinity.parameter()]) : null,
+                ignored -> new ArrayDeque<>()).add(row));
+        byKey.values().forEach(rows -> {
+            String key = DriverContext.affinityKey(javaMethod, rows.peek());
+            if (key != null) {
+                DriverContext.expectAffinityRows(key, rows.size());
+            }
+        });
+        List<Object[]> interleaved = new ArrayList<>();
+        while (!byKey.isEmpty()) {
+            Iterator<Deque<Object[]>> groups = byKey.values().iterator();
+            while (groups.hasNext()) {
+                Deque<Object[]> group = groups.next();
+                interleaved.add(group.poll());
+                if (group.isEmpty()) {
+                    groups.remove();
+                }
+            }
+        }
+        return interleaved.iterator();
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.listeners;
+
+import org.example.trace.Tracer;
+import org.testng.IClassListener;
+import org.testng.IDataProviderListener;
+import org.testng.IDataProviderMethod;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestClass;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adds the suite, its classes, data providers and every test and configuration method to the
+ * {@link Tracer} timeline and writes it when the suite finishes. A data-provider row is its
+ * own test span, with the row's parameters as arguments. Does nothing unless
+ * {@code trace.enabled=true}.
+ */
+public class TimelineTracer implements ISuiteListener, IClassListener, IInvokedMethodListener, IDataProviderListener {
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void onStart(ISuite suite) {
+        Tracer.beginAsync("suite", suite.getName(), "suite", Map.of("parallel", String.valueOf(suite.getParallel())));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Tracer.endAsync("suite", suite.getName(), "suite");
+        Path trace = Tracer.export();
+        if (trace != null) {
+            System.out.println("Trace written to " + trace.toAbsolutePath() + " (open in ui.perfetto.dev or chrome://tracing)");
+        }
+    }
+
+    @Override
+    public void onBeforeClass(ITestClass testClass) {
+        Tracer.beginAsync("class", testClass.getName(), testClass.getName(), null);
+    }
+
+    @Override
+    public void onAfterClass(ITestClass testClass) {
+        Tracer.endAsync("class", testClass.getName(), testClass.getName());
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (Tracer.enabled()) {
+            starts.get().push(Tracer.now());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Long start = Tracer.enabled() ? starts.get().poll() : null;
+        if (start == null) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("class", testResult.getTestClass().getName());
+        Object[] parameters = testResult.getParameters();
+        if (method.isTestMethod() && parameters != null && parameters.length > 0) {
+            details.put("row", Arrays.toString(parameters));
+        }
+        details.put("status", status(testResult.getStatus()));
+        if (method.isTestMethod()) {
+            Tracer.complete("test", testResult.getTestClass().getName() + "." + testMethod.getMethodName(), start, details);
+        } else {
+            Tracer.complete("configuration", annotation(testMethod) + " " + testMethod.getMethodName(), start, details);
+        }
+    }
+
+    @Override
+    public void beforeDataProviderExecution(IDataProviderMethod dataProvider, ITestNGMethod method, ITestContext context) {
+        if (Tracer.enabled()) {
+            starts.get().push(Tracer.now());
+        }
+    }
+
+    @Override
+    public void afterDataProviderExecution(IDataProviderMethod dataProvider, ITestNGMethod method, ITestContext context) {
+        finishDataProvider(dataProvider.getName(), method, null);
+    }
+
+    @Override
+    public void onDataProviderFailure(ITestNGMethod method, ITestContext context, RuntimeException exception) {
+        finishDataProvider("(failed)", method, exception);
+    }
+
+    private void finishDataProvider(String name, ITestNGMethod method, RuntimeException failure) {
+        Long start = Tracer.enabled() ? starts.get().poll() : null;
+        if (start == null) {
+            return;
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("class", method.getTestClass().getName());
+        details.put("for", method.getMethodName());
+        if (failure != null) {
+            details.put("error", failure.getClass().getSimpleName());
+        }
+        Tracer.complete("dataProvider", "@DataProvider " + name, start, details);
+    }
+
+    private static String annotation(ITestNGMethod method) {
+        if (method.isBeforeMethodConfiguration()) {
+            return "@BeforeMethod";
+        } else if (method.isAfterMethodConfiguration()) {
+            return "@AfterMethod";
+        } else if (method.isBeforeClassConfiguration()) {
+            return "@BeforeClass";
+        } else if (method.isAfterClassConfiguration()) {
+            return "@AfterClass";
+        } else if (method.isBeforeSuiteConfiguration()) {
+            return "@BeforeSuite";
+        } else if (method.isAfterSuiteConfiguration()) {
+            return "@AfterSuite";
+        }
+        return "@Configuration";
+    }
+
+    private static String status(int status) {
+        return switch (status) {
+            case ITestResult.SUCCESS -> "passed";
+            case ITestResult.FAILURE -> "failed";
+            case ITestResult.SKIP -> "skipped";
+            default -> "status " + status;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.listeners;
+
+import org.example.wait.AdaptiveTimeouts;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Saves the wait times recorded by {@link AdaptiveTimeouts} when the suite finishes and prints
+ * every learned timeout that is new or moved significantly since the run started.
+ */
+public class WaitTimeoutReporter implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        for (String change : AdaptiveTimeouts.save()) {
+            System.out.println("Learned wait timeout " + change);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.load;
+
+import org.example.server.SwagLabsServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A short, low-concurrency run of each journey against the embedded replica, so the load
+ * generator is exercised offline like the rest of the suite.
+ */
+public class LoadGeneratorTest {
+
+    private SwagLabsServer server;
+
+    @BeforeClass
+    public void startServer() {
+        server = SwagLabsServer.builder().start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @DataProvider(name = "journeys")
+    public Object[][] journeys() {
+        return new Object[][]{{Journey.CHECKOUT}, {Journey.SORT}};
+    }
+
+    @Test(dataProvider = "journeys")
+    public void completesJourneysWithoutErrors(Journey journey) {
+        LoadReport report = LoadGenerator.builder(server.baseUrl())
+                .concurrency(3)
+                .duration(Duration.ofSeconds(2))
+                .thinkTime(Duration.ofMillis(20))
+                .users(Map.of("standard_user", 1, "problem_user", 1))
+                .journeys(Map.of(journey, 1))
+                .build()
+                .run();
+
+        Assert.assertTrue(report.completedJourneys() > 0, "No " + journey + " journey completed: " + report);
+        Assert.assertTrue(report.journeysPerSecond() > 0, "No throughput for " + journey + ": " + report);
+        Assert.assertEquals(report.errors(), 0, "Failed requests during " + journey + ": " + report);
+    }
+}
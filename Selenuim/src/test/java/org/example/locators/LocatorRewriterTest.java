@@ -0,0 +1,73 @@
+package org.example.locators;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * The XPath subset {@link LocatorRewriter} turns into id/CSS, and the XPaths it must leave
+ * alone because CSS cannot match exactly the same elements.
+ */
+public class LocatorRewriterTest {
+
+    @DataProvider(name = "rewritable")
+    public Object[][] rewritable() {
+        return new Object[][]{
+                {"//*[@id='first-name']", By.id("first-name")},
+                {"//*[ @id = \"first-name\" ]", By.id("first-name")},
+                {"//input[@id='user-name']", By.cssSelector("input#user-name")},
+                {"//input[@id='1st']", By.cssSelector("input[id='1st']")},
+                {"//div[@class='inventory_item']", By.cssSelector("div[class='inventory_item']")},
+                {"//*[@data-test='error']", By.cssSelector("[data-test='error']")},
+                {"//button[@disabled]", By.cssSelector("button[disabled]")},
+                {"//button[contains(@class, 'btn_primary')]", By.cssSelector("button[class*='btn_primary']")},
+                {"//a[starts-with(@href,'./item')]", By.cssSelector("a[href^='./item']")},
+                {"//input[@type='text' and @name='q']", By.cssSelector("input[type='text'][name='q']")},
+                {"//input[@type='text'][@name='q']", By.cssSelector("input[type='text'][name='q']")},
+                {"//div[@class='cart_list']/div", By.cssSelector("div[class='cart_list'] > div")},
+                {"//div[@id='menu']//a", By.cssSelector("div#menu a")},
+                {"//*[@title=\"it's\"]", By.cssSelector("[title='it\\'s']")},
+        };
+    }
+
+    @Test(dataProvider = "rewritable")
+    public void rewritesExactEquivalents(String xpath, By expected) {
+        Assert.assertEquals(LocatorRewriter.rewrite(By.xpath(xpath)), expected, xpath);
+    }
+
+    @DataProvider(name = "refused")
+    public Object[][] refused() {
+        return new Object[][]{
+                {"//div[text()='Sauce Labs Backpack']"},
+                {"//div[@class='inventory_item_name' and text()='Backpack']"},
+                {"//div[normalize-space()='Backpack']"},
+                {"//div[contains(text(), 'Backpack')]"},
+                {"//div[1]"},
+                {"(//button)[2]"},
+                {"//div[last()]"},
+                {"//div[@id='a' or @id='b']"},
+                {"//div[contains(@class, '')]"},
+                {"//a[starts-with(@href, '')]"},
+                {"//div[not(@hidden)]"},
+                {"//div/following-sibling::span"},
+                {"//div/.."},
+                {"//DIV[@id='x']"},
+                {"//div[@ID='x']"},
+                {"/html/body/div"},
+                {"//div[@class='a'"},
+                {"//div[@class=a]"},
+        };
+    }
+
+    @Test(dataProvider = "refused")
+    public void leavesOtherXPathsAlone(String xpath) {
+        Assert.assertNull(LocatorRewriter.rewrite(By.xpath(xpath)), xpath);
+    }
+
+    @Test
+    public void ignoresLocatorsThatAreNotXPaths() {
+        Assert.assertNull(LocatorRewriter.rewrite(By.id("user-name")));
+        Assert.assertNull(LocatorRewriter.rewrite(By.cssSelector("input#user-name")));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.schedule;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * How a run's durations are blended into the stored history.
+ */
+public class DurationHistoryTest {
+
+    private Path file;
+    private String previousProperty;
+
+    @BeforeMethod
+    public void useTemporaryFile() throws IOException {
+        file = Files.createTempFile("test-durations-", ".json");
+        previousProperty = System.setProperty(DurationHistory.HISTORY_PROPERTY, file.toString());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restore() throws IOException {
+        if (previousProperty == null) {
+            System.clearProperty(DurationHistory.HISTORY_PROPERTY);
+        } else {
+            System.setProperty(DurationHistory.HISTORY_PROPERTY, previousProperty);
+        }
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void startsEmptyWithoutAFile() throws IOException {
+        Files.delete(file);
+        DurationHistory history = DurationHistory.load();
+        Assert.assertTrue(history.isEmpty());
+        Assert.assertEquals(history.expected("Sort.testSorting", 42), 42);
+        Assert.assertEquals(history.meanMethod(42), 42);
+    }
+
+    @Test
+    public void blendsRunsHalfAndHalf() throws IOException {
+        Files.writeString(file, "{\"Sort.testSorting\": {\"[a]\": 1000, \"[b]\": 3000}}");
+        DurationHistory history = DurationHistory.load();
+        history.record("Sort.testSorting", "[a]", 2000);
+        history.record("Sort.testSorting", "[b]", 1000);
+        history.save();
+
+        DurationHistory reloaded = DurationHistory.load();
+        Assert.assertEquals(reloaded.expected("Sort.testSorting", "[a]", 0), 1500);
+        Assert.assertEquals(reloaded.expected("Sort.testSorting", "[b]", 0), 2000);
+        Assert.assertEquals(reloaded.expected("Sort.testSorting", 0), 3500);
+    }
+
+    @Test
+    public void keepsMethodsThatDidNotRun() throws IOException {
+        Files.writeString(file, "{\"Products.testList\": {\"\": 4000}, \"Sort.testSorting\": {\"[a]\": 1000}}");
+        DurationHistory history = DurationHistory.load();
+        history.record("Sort.testSorting", "[a]", 3000);
+        history.record("Check_Out.testCheckout", null, 500);
+        history.save();
+
+        DurationHistory reloaded = DurationHistory.load();
+        Assert.assertEquals(reloaded.expected("Products.testList", null, 0), 4000);
+        Assert.assertEquals(reloaded.expected("Sort.testSorting", "[a]", 0), 2000);
+        Assert.assertEquals(reloaded.expected("Check_Out.testCheckout", null, 0), 500);
+        Assert.assertEquals(reloaded.meanMethod(0), Math.round((4000 + 2000 + 500) / 3.0));
+    }
+
+    @Test
+    public void addsUpSetupAndTeardownOfARow() {
+        DurationHistory history = DurationHistory.load();
+        history.record("Sort.testSorting", "[a]", 700);
+        history.record("Sort.testSorting", "[a]", 300);
+        history.save();
+
+        Assert.assertEquals(DurationHistory.load().expected("Sort.testSorting", "[a]", 0), 1000);
+    }
+}
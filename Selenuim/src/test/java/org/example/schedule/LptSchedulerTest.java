@@ -0,0 +1,88 @@
+package org.example.schedule;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Longest-first ordering and the bin packing that splits the suite into shards.
+ */
+public class LptSchedulerTest {
+
+    private static final Map<String, Long> COSTS = Map.of(
+            "a", 7L, "b", 6L, "c", 5L, "d", 4L, "e", 3L, "f", 2L, "g", 2L, "h", 1L);
+
+    @Test
+    public void ordersLongestFirstAndKeepsInputOrderOnTies() {
+        List<String> ordered = LptScheduler.longestFirst(List.of("h", "g", "a", "f", "c"), COSTS::get);
+        Assert.assertEquals(ordered, List.of("a", "c", "g", "f", "h"));
+    }
+
+    @Test
+    public void packsIntoBalancedBins() {
+        List<List<String>> bins = LptScheduler.pack(List.of("a", "b", "c", "d", "e", "f"), COSTS::get, 3);
+        for (List<String> bin : bins) {
+            Assert.assertEquals(bin.stream().mapToLong(COSTS::get).sum(), 9, "bins " + bins);
+        }
+    }
+
+    @Test
+    public void staysWithinFourThirdsOfTheOptimum() {
+        List<String> items = List.of("a", "b", "c", "d", "e", "f", "g", "h");
+        long total = items.stream().mapToLong(COSTS::get).sum();
+        for (int bins = 1; bins <= items.size(); bins++) {
+            long largest = LptScheduler.pack(items, COSTS::get, bins).stream()
+                    .mapToLong(bin -> bin.stream().mapToLong(COSTS::get).sum())
+                    .max().orElseThrow();
+            // The optimum is at least the average load and at least the largest item
+            long lowerBound = Math.max((total + bins - 1) / bins, 7);
+            Assert.assertTrue(largest * 3 <= lowerBound * 4, bins + " bins: largest " + largest + ", bound " + lowerBound);
+        }
+    }
+
+    @Test
+    public void putsEveryItemInExactlyOneBin() {
+        List<String> items = List.of("a", "b", "c", "d", "e", "f", "g", "h");
+        for (int bins = 1; bins <= items.size() + 2; bins++) {
+            List<List<String>> packed = LptScheduler.pack(items, COSTS::get, bins);
+            Assert.assertEquals(packed.size(), bins);
+            List<String> all = new ArrayList<>();
+            packed.forEach(all::addAll);
+            Assert.assertEquals(all.size(), items.size(), bins + " bins: " + packed);
+            Assert.assertEqualsNoOrder(all.toArray(), items.toArray(), bins + " bins: " + packed);
+        }
+    }
+
+    @Test
+    public void splitsIntoShardsThatCoverEveryItemOnce() {
+        List<String> items = List.of("a", "b", "c", "d", "e", "f", "g", "h");
+        List<String> all = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            List<String> shard = LptScheduler.shard(items, COSTS::get, 3, index);
+            Assert.assertEquals(shard, LptScheduler.pack(items, COSTS::get, 3).get(index));
+            all.addAll(shard);
+        }
+        Assert.assertEqualsNoOrder(all.toArray(), items.toArray());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsAShardIndexOutOfRange() {
+        LptScheduler.shard(List.of("a"), COSTS::get, 2, 2);
+    }
+
+    @Test
+    public void breaksTiesDeterministically() {
+        List<String> items = List.of("p", "q", "r", "s", "t");
+        List<List<String>> packed = LptScheduler.pack(items, item -> 1, 2);
+        Assert.assertEquals(packed, List.of(List.of("p", "r", "t"), List.of("q", "s")));
+        Assert.assertEquals(LptScheduler.pack(items, item -> 1, 2), packed);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsZeroBins() {
+        LptScheduler.pack(List.of("a"), COSTS::get, 0);
+    }
+}